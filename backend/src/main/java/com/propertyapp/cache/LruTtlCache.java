@@ -0,0 +1,146 @@
+package com.propertyapp.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Size-bounded LRU cache whose entries also expire after a fixed time-to-live.
+ * All access is serialised on the cache monitor; loaders run outside of it so a
+ * slow load never blocks readers of other keys.
+ * <p>
+ * Every invalidation bumps a generation counter for the key's stripe. A load
+ * captures the generation before it reads and only caches its result if the
+ * generation is unchanged, so a value read before a concurrent write cannot
+ * be put back after that write's invalidation.
+ */
+public class LruTtlCache<K, V> {
+    
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    
+    private static final int GENERATION_STRIPES = 256;
+    private final long[] generations = new long[GENERATION_STRIPES];
+    
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    public LruTtlCache(int maxEntries, long ttlMillis) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruTtlCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt >= 0) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+    
+    /**
+     * Returns the cached value or loads, caches and returns it. A loader
+     * returning null is treated as "not found" and nothing is cached.
+     */
+    public V getOrLoad(K key, Function<K, V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = generation(key);
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            putIfGeneration(key, loaded, generation);
+        }
+        return loaded;
+    }
+    
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+    
+    /**
+     * Current invalidation generation for the key; capture it before reading
+     * the value from the source of truth and pass it to {@link #putIfGeneration}.
+     */
+    public synchronized long generation(K key) {
+        return generations[stripe(key)];
+    }
+    
+    /**
+     * Caches the value unless the key was invalidated since {@code generation}
+     * was captured. Returns whether the value was cached.
+     */
+    public synchronized boolean putIfGeneration(K key, V value, long generation) {
+        if (generations[stripe(key)] != generation) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+    
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        generations[stripe(key)]++;
+    }
+    
+    public synchronized void invalidateAll() {
+        entries.clear();
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations[i]++;
+        }
+    }
+    
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+    
+    public synchronized Map<String, Object> stats() {
+        long requests = hits + misses;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlNanos / 1_000_000_000L);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hits / requests);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        return stats;
+    }
+}
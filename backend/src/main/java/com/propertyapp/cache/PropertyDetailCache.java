@@ -0,0 +1,66 @@
+package com.propertyapp.cache;
+
+import com.propertyapp.dto.PropertyDetail;
+import com.propertyapp.model.Property;
+import com.propertyapp.service.PropertyChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@Component
+public class PropertyDetailCache implements PropertyChangeListener {
+    
+    private final LruTtlCache<Long, PropertyDetail> cache;
+    
+    public PropertyDetailCache(@Value("${property.cache.max-entries:10000}") int maxEntries,
+                               @Value("${property.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new LruTtlCache<>(maxEntries, ttlSeconds * 1000L);
+    }
+    
+    public PropertyDetail get(Long propertyId) {
+        return cache.get(propertyId);
+    }
+    
+    public PropertyDetail getOrLoad(Long propertyId, Function<Long, PropertyDetail> loader) {
+        return cache.getOrLoad(propertyId, loader);
+    }
+    
+    public void put(PropertyDetail detail) {
+        cache.put(detail.getPropertyId(), detail);
+    }
+    
+    // Capture before loading; see LruTtlCache#putIfGeneration
+    public long generation(Long propertyId) {
+        return cache.generation(propertyId);
+    }
+    
+    public boolean putIfGeneration(PropertyDetail detail, long generation) {
+        return cache.putIfGeneration(detail.getPropertyId(), detail, generation);
+    }
+    
+    public void invalidate(Long propertyId) {
+        cache.invalidate(propertyId);
+    }
+    
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+    
+    @Override
+    public void rebuild(List<Property> activeProperties) {
+        cache.invalidateAll();
+    }
+    
+    @Override
+    public void propertySaved(Property property, boolean created) {
+        cache.invalidate(property.getPropertyId());
+    }
+    
+    @Override
+    public void propertyRemoved(Property property) {
+        cache.invalidate(property.getPropertyId());
+    }
+}
@@ -1,10 +1,14 @@
 package com.propertyapp.controller;
 
+import com.propertyapp.cache.PropertyDetailCache;
 import com.propertyapp.dto.ApiResponse;
+import com.propertyapp.dto.DuplicateReport;
+import com.propertyapp.index.DuplicateListingIndex;
 import com.propertyapp.model.Inquiry;
 import com.propertyapp.model.InquiryStatus;
 import com.propertyapp.model.User;
 import com.propertyapp.model.UserType;
+import com.propertyapp.service.EventBroadcaster;
 import com.propertyapp.service.InquiryService;
 import com.propertyapp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +30,15 @@ public class AdminController {
     @Autowired
     private InquiryService inquiryService;
     
+    @Autowired
+    private PropertyDetailCache propertyDetailCache;
+    
+    @Autowired
+    private EventBroadcaster eventBroadcaster;
+    
+    @Autowired
+    private DuplicateListingIndex duplicateListingIndex;
+    
     @GetMapping("/users/login-report")
     public ResponseEntity<ApiResponse<List<User>>> getLoginReport() {
         try {
@@ -153,4 +166,27 @@ public class AdminController {
                     .body(ApiResponse.error("Failed to retrieve dashboard stats: " + e.getMessage()));
         }
     }
+    
+    @GetMapping("/cache/property-details")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPropertyDetailCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success("Property detail cache stats retrieved successfully",
+                propertyDetailCache.stats()));
+    }
+    
+    @GetMapping("/events/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getEventStreamStats() {
+        return ResponseEntity.ok(ApiResponse.success("Event stream stats retrieved successfully",
+                eventBroadcaster.stats()));
+    }
+    
+    @GetMapping("/properties/duplicates")
+    public ResponseEntity<ApiResponse<DuplicateReport>> getDuplicateListings() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Duplicate listings retrieved successfully",
+                    duplicateListingIndex.findClusters()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to retrieve duplicate listings: " + e.getMessage()));
+        }
+    }
 }
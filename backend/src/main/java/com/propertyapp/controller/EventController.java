@@ -0,0 +1,31 @@
+package com.propertyapp.controller;
+
+import com.propertyapp.model.PropertyType;
+import com.propertyapp.service.EventBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/events")
+@CrossOrigin(origins = "*")
+public class EventController {
+    
+    @Autowired
+    private EventBroadcaster eventBroadcaster;
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) PropertyType type,
+            @RequestParam(required = false) Long userId) {
+        try {
+            return ResponseEntity.ok(eventBroadcaster.subscribe(city, type, userId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
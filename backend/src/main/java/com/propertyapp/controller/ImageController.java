@@ -0,0 +1,153 @@
+package com.propertyapp.controller;
+
+import com.propertyapp.service.ImageStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Serves stored listing images. Files are named by content hash and never
+ * change, so they are cached as immutable for a year and the hash doubles as
+ * the ETag. On Tomcat the body is handed to the connector's sendfile support;
+ * elsewhere it is copied with {@link FileChannel#transferTo}.
+ */
+@RestController
+@RequestMapping("/images")
+@CrossOrigin(origins = "*")
+public class ImageController {
+    
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    
+    // Tomcat request attributes for asynchronous sendfile (see org.apache.coyote.Constants)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    @Autowired
+    private ImageStorageService imageStorageService;
+    
+    @GetMapping("/{name:.+}")
+    public void getImage(@PathVariable String name, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        Path file = imageStorageService.resolve(name);
+        if (file == null || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        
+        String eTag = "\"" + name.substring(0, name.indexOf('.')) + "\"";
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(eTag) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        
+        long length = Files.size(file);
+        long start = 0;
+        long end = length - 1;
+        
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // A stale If-Range validator means the client wants the whole file
+        if (range != null && (ifRange == null || ifRange.equals(eTag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        
+        response.setContentType(ImageStorageService.contentType(name));
+        response.setContentLengthLong(end - start + 1);
+        if ("HEAD".equals(request.getMethod()) || end < start) {
+            return;
+        }
+        
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // The connector streams the file after this method returns, off the request thread
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            out.flush();
+        }
+    }
+    
+    /**
+     * Parses a single "bytes=" range. Returns {start, end} (inclusive), an empty
+     * array when the header should be ignored (multiple ranges or another unit),
+     * or null when the range cannot be satisfied.
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            }
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
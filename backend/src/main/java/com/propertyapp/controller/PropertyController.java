@@ -1,19 +1,50 @@
 package com.propertyapp.controller;
 
 import com.propertyapp.dto.ApiResponse;
+import com.propertyapp.dto.AutocompleteSuggestion;
+import com.propertyapp.dto.BulkImportResult;
+import com.propertyapp.dto.CursorPage;
+import com.propertyapp.dto.FacetCounts;
+import com.propertyapp.dto.MapCluster;
+import com.propertyapp.dto.MarketStats;
+import com.propertyapp.dto.NearbyProperty;
+import com.propertyapp.dto.PropertyChange;
+import com.propertyapp.dto.PropertyDetail;
+import com.propertyapp.dto.PropertyLookup;
+import com.propertyapp.dto.PropertyPatchRequest;
 import com.propertyapp.dto.PropertyRequest;
+import com.propertyapp.dto.PropertySearchCriteria;
+import com.propertyapp.dto.PropertySummary;
+import com.propertyapp.dto.RankingQuery;
+import com.propertyapp.index.ListingVersionTracker;
 import com.propertyapp.model.Property;
 import com.propertyapp.model.PropertyType;
+import com.propertyapp.service.ImageStorageService;
+import com.propertyapp.service.PropertyExportService;
+import com.propertyapp.service.PropertyImportService;
 import com.propertyapp.service.PropertyService;
+import com.propertyapp.service.ThumbnailService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/properties")
@@ -23,6 +54,21 @@ public class PropertyController {
     @Autowired
     private PropertyService propertyService;
     
+    @Autowired
+    private PropertyExportService propertyExportService;
+    
+    @Autowired
+    private PropertyImportService propertyImportService;
+    
+    @Autowired
+    private ImageStorageService imageStorageService;
+    
+    @Autowired
+    private ThumbnailService thumbnailService;
+    
+    @Autowired
+    private ListingVersionTracker listingVersionTracker;
+    
     @PostMapping("/create/{sellerId}")
     public ResponseEntity<ApiResponse<Property>> createProperty(
             @PathVariable Long sellerId,
@@ -36,21 +82,201 @@ public class PropertyController {
         }
     }
     
+    @PostMapping(value = "/bulk-import/{sellerId}", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<ApiResponse<BulkImportResult>> bulkImportProperties(
+            @PathVariable Long sellerId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        try {
+            BulkImportResult result = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)
+                    ? propertyImportService.importJson(sellerId, body)
+                    : propertyImportService.importCsv(sellerId, body);
+            return ResponseEntity.ok(ApiResponse.success("Imported " + result.getCreated() + " of "
+                    + result.getTotalRows() + " properties", result));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to import properties: " + e.getMessage()));
+        }
+    }
+    
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<Property>>> getAllProperties() {
+    public ResponseEntity<ApiResponse<List<PropertySummary>>> getAllProperties(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         try {
-            List<Property> properties = propertyService.getAllActiveProperties();
-            return ResponseEntity.ok(ApiResponse.success("Properties retrieved successfully", properties));
+            CursorPage<PropertySummary> page = propertyService.getActivePropertiesPage(cursor, size);
+            return ResponseEntity.ok(ApiResponse.success("Properties retrieved successfully",
+                    page.getItems(), page.getNextCursor(), page.isHasMore()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to retrieve properties: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to retrieve properties: " + e.getMessage()));
         }
     }
     
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<CursorPage<PropertyChange>>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<PropertyChange> changes = propertyService.getChanges(since, size);
+            return ResponseEntity.ok(ApiResponse.success("Property changes retrieved successfully", changes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Invalid sync token: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve property changes: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<PropertySummary>>> searchProperties(@ModelAttribute PropertySearchCriteria criteria, WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        try {
+            CursorPage<PropertySummary> page = propertyService.searchProperties(criteria);
+            return ResponseEntity.ok(ApiResponse.success("Properties retrieved successfully",
+                    page.getItems(), null, page.isHasMore()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to search properties: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to search properties: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/facets")
+    public ResponseEntity<ApiResponse<FacetCounts>> getFacets(@ModelAttribute PropertySearchCriteria criteria, WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        try {
+            FacetCounts facets = propertyService.getFacets(criteria);
+            return ResponseEntity.ok(ApiResponse.success("Facet counts retrieved successfully", facets));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to retrieve facet counts: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve facet counts: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/market-stats")
+    public ResponseEntity<ApiResponse<MarketStats>> getMarketStats(
+            @RequestParam String city,
+            @RequestParam(required = false) PropertyType type,
+            @RequestParam(required = false) BigDecimal size,
+            WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        try {
+            MarketStats stats = propertyService.getMarketStats(city, type, size);
+            return ResponseEntity.ok(ApiResponse.success("Market stats retrieved successfully", stats));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to retrieve market stats: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve market stats: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/text-search")
+    public ResponseEntity<ApiResponse<List<PropertySummary>>> searchPropertiesByText(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        try {
+            List<PropertySummary> properties = propertyService.searchPropertiesByText(q, limit);
+            return ResponseEntity.ok(ApiResponse.success("Properties retrieved successfully", properties));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to search properties: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to search properties: " + e.getMessage()));
+        }
+    }
+    
+    // No ETag short-circuit: scores move with time and inquiries, not just listing edits
+    @GetMapping("/ranked")
+    public ResponseEntity<ApiResponse<List<PropertySummary>>> getRankedProperties(@ModelAttribute RankingQuery query) {
+        try {
+            List<PropertySummary> properties = propertyService.rankProperties(query);
+            return ResponseEntity.ok(ApiResponse.success("Properties retrieved successfully", properties));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to rank properties: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to rank properties: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/autocomplete")
+    public ResponseEntity<ApiResponse<List<AutocompleteSuggestion>>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        try {
+            List<AutocompleteSuggestion> suggestions = propertyService.autocomplete(q, limit);
+            return ResponseEntity.ok(ApiResponse.success("Suggestions retrieved successfully", suggestions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to retrieve suggestions: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve suggestions: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportProperties(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(required = false) PropertyType propertyType,
+            @RequestParam(required = false) String city,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+            propertyExportService.exportActiveProperties(out, updatedSince, propertyType, city);
+            if (out instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+            out.flush();
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
     @GetMapping("/seller/{sellerId}")
-    public ResponseEntity<ApiResponse<List<Property>>> getPropertiesBySeller(@PathVariable Long sellerId) {
+    public ResponseEntity<ApiResponse<List<PropertySummary>>> getPropertiesBySeller(@PathVariable Long sellerId, WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         try {
-            List<Property> properties = propertyService.getPropertiesBySeller(sellerId);
+            List<PropertySummary> properties = propertyService.getPropertiesBySeller(sellerId);
             return ResponseEntity.ok(ApiResponse.success("Seller properties retrieved successfully", properties));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -59,9 +285,12 @@ public class PropertyController {
     }
     
     @GetMapping("/type/{propertyType}")
-    public ResponseEntity<ApiResponse<List<Property>>> getPropertiesByType(@PathVariable PropertyType propertyType) {
+    public ResponseEntity<ApiResponse<List<PropertySummary>>> getPropertiesByType(@PathVariable PropertyType propertyType, WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         try {
-            List<Property> properties = propertyService.getPropertiesByType(propertyType);
+            List<PropertySummary> properties = propertyService.getPropertiesByType(propertyType);
             return ResponseEntity.ok(ApiResponse.success("Properties by type retrieved successfully", properties));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -70,9 +299,12 @@ public class PropertyController {
     }
     
     @GetMapping("/city/{city}")
-    public ResponseEntity<ApiResponse<List<Property>>> getPropertiesByCity(@PathVariable String city) {
+    public ResponseEntity<ApiResponse<List<PropertySummary>>> getPropertiesByCity(@PathVariable String city, WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         try {
-            List<Property> properties = propertyService.getPropertiesByCity(city);
+            List<PropertySummary> properties = propertyService.getPropertiesByCity(city);
             return ResponseEntity.ok(ApiResponse.success("Properties by city retrieved successfully", properties));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -81,11 +313,17 @@ public class PropertyController {
     }
     
     @GetMapping("/price-range")
-    public ResponseEntity<ApiResponse<List<Property>>> getPropertiesByPriceRange(
+    public ResponseEntity<ApiResponse<List<PropertySummary>>> getPropertiesByPriceRange(
             @RequestParam BigDecimal minPrice,
-            @RequestParam BigDecimal maxPrice) {
+            @RequestParam BigDecimal maxPrice,
+            @RequestParam(required = false) BigDecimal minSize,
+            @RequestParam(required = false) BigDecimal maxSize,
+            WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         try {
-            List<Property> properties = propertyService.getPropertiesByPriceRange(minPrice, maxPrice);
+            List<PropertySummary> properties = propertyService.getPropertiesByPriceRange(minPrice, maxPrice, minSize, maxSize);
             return ResponseEntity.ok(ApiResponse.success("Properties by price range retrieved successfully", properties));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -94,23 +332,101 @@ public class PropertyController {
     }
     
     @GetMapping("/nearby")
-    public ResponseEntity<ApiResponse<List<Object[]>>> getNearbyProperties(
+    public ResponseEntity<ApiResponse<List<NearbyProperty>>> getNearbyProperties(
             @RequestParam BigDecimal latitude,
             @RequestParam BigDecimal longitude,
-            @RequestParam(defaultValue = "10") BigDecimal radiusKm) {
+            @RequestParam(defaultValue = "10") BigDecimal radiusKm,
+            @RequestParam(defaultValue = "50") int limit,
+            WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         try {
-            List<Object[]> properties = propertyService.getNearbyProperties(latitude, longitude, radiusKm);
+            List<NearbyProperty> properties = propertyService.getNearbyProperties(latitude, longitude, radiusKm, limit);
             return ResponseEntity.ok(ApiResponse.success("Nearby properties retrieved successfully", properties));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to retrieve nearby properties: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to retrieve nearby properties: " + e.getMessage()));
         }
     }
     
+    @GetMapping("/polygon")
+    public ResponseEntity<ApiResponse<List<PropertySummary>>> searchPropertiesInPolygon(
+            @RequestParam String points,
+            @RequestParam(defaultValue = "NEWEST") PropertySearchCriteria.Sort sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        try {
+            CursorPage<PropertySummary> result = propertyService.searchPropertiesInPolygon(points, sort, page, size);
+            return ResponseEntity.ok(ApiResponse.success("Properties retrieved successfully",
+                    result.getItems(), null, result.isHasMore()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to search properties in area: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to search properties in area: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/clusters")
+    public ResponseEntity<ApiResponse<List<MapCluster>>> getMapClusters(
+            @RequestParam double south,
+            @RequestParam double west,
+            @RequestParam double north,
+            @RequestParam double east,
+            @RequestParam int zoom,
+            WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        try {
+            List<MapCluster> clusters = propertyService.getMapClusters(south, west, north, east, zoom);
+            return ResponseEntity.ok(ApiResponse.success("Map clusters retrieved successfully", clusters));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to retrieve map clusters: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve map clusters: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<List<PropertyLookup>>> getPropertiesByIds(
+            @RequestParam List<Long> ids,
+            WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        try {
+            List<PropertyLookup> properties = propertyService.getPropertiesByIds(ids);
+            return ResponseEntity.ok(ApiResponse.success("Properties retrieved successfully", properties));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to retrieve properties: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve properties: " + e.getMessage()));
+        }
+    }
+    
     @GetMapping("/{propertyId}")
-    public ResponseEntity<ApiResponse<Property>> getPropertyById(@PathVariable Long propertyId) {
+    public ResponseEntity<ApiResponse<PropertyDetail>> getPropertyById(@PathVariable Long propertyId, WebRequest webRequest) {
+        // Validators come from memory, so an unchanged listing costs no database round trip
+        String eTag = listingVersionTracker.propertyETag(propertyId);
+        if (eTag != null && webRequest.checkNotModified(eTag, listingVersionTracker.propertyLastModified(propertyId))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         try {
-            Optional<Property> property = propertyService.getPropertyById(propertyId);
+            Optional<PropertyDetail> property = propertyService.getPropertyById(propertyId);
             if (property.isPresent()) {
                 return ResponseEntity.ok(ApiResponse.success("Property retrieved successfully", property.get()));
             } else {
@@ -122,6 +438,27 @@ public class PropertyController {
         }
     }
     
+    @GetMapping("/{propertyId}/similar")
+    public ResponseEntity<ApiResponse<List<PropertyDetail>>> getSimilarProperties(
+            @PathVariable Long propertyId,
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest webRequest) {
+        if (isCollectionNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        try {
+            Optional<List<PropertyDetail>> similar = propertyService.getSimilarProperties(propertyId, limit);
+            if (similar.isPresent()) {
+                return ResponseEntity.ok(ApiResponse.success("Similar properties retrieved successfully", similar.get()));
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve similar properties: " + e.getMessage()));
+        }
+    }
+    
     @PutMapping("/update/{propertyId}/{sellerId}")
     public ResponseEntity<ApiResponse<Property>> updateProperty(
             @PathVariable Long propertyId,
@@ -130,12 +467,63 @@ public class PropertyController {
         try {
             Property property = propertyService.updateProperty(propertyId, sellerId, propertyRequest);
             return ResponseEntity.ok(ApiResponse.success("Property updated successfully", property));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Property was modified concurrently; reload and retry"));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Failed to update property: " + e.getMessage()));
         }
     }
     
+    // Partial update: only the fields present in the body are changed
+    @PatchMapping("/update/{propertyId}/{sellerId}")
+    public ResponseEntity<ApiResponse<Property>> patchProperty(
+            @PathVariable Long propertyId,
+            @PathVariable Long sellerId,
+            @Valid @RequestBody PropertyPatchRequest patchRequest) {
+        try {
+            Property property = propertyService.patchProperty(propertyId, sellerId, patchRequest);
+            return ResponseEntity.ok(ApiResponse.success("Property updated successfully", property));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Property was modified since version " + patchRequest.getVersion()
+                            + "; reload and retry"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to update property: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping(value = "/{propertyId}/images/{sellerId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<List<String>>> uploadPropertyImages(
+            @PathVariable Long propertyId,
+            @PathVariable Long sellerId,
+            @RequestParam("files") List<MultipartFile> files) {
+        try {
+            // Nothing is written to disk or queued for rendering unless the caller owns the listing
+            propertyService.checkPropertyOwner(propertyId, sellerId);
+            List<String> names = new ArrayList<>(files.size());
+            List<String> imageUrls = new ArrayList<>(files.size());
+            for (MultipartFile file : files) {
+                // Multipart parts are spooled to disk by the container, so this streams from a file
+                try (InputStream content = file.getInputStream()) {
+                    String name = imageStorageService.store(content);
+                    names.add(name);
+                    imageUrls.add(imageStorageService.publicUrl(name));
+                }
+            }
+            List<String> images = propertyService.addPropertyImages(propertyId, sellerId, imageUrls);
+            for (String name : names) {
+                thumbnailService.submit(name);
+            }
+            return ResponseEntity.ok(ApiResponse.success("Images uploaded successfully", images));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to upload images: " + e.getMessage()));
+        }
+    }
+    
     @DeleteMapping("/delete/{propertyId}/{sellerId}")
     public ResponseEntity<ApiResponse<String>> deleteProperty(
             @PathVariable Long propertyId,
@@ -148,4 +536,9 @@ public class PropertyController {
                     .body(ApiResponse.error("Failed to delete property: " + e.getMessage()));
         }
     }
+    
+    private boolean isCollectionNotModified(WebRequest webRequest) {
+        String eTag = listingVersionTracker.collectionETag();
+        return eTag != null && webRequest.checkNotModified(eTag, listingVersionTracker.collectionLastModified());
+    }
 }
@@ -0,0 +1,58 @@
+package com.propertyapp.controller;
+
+import com.propertyapp.dto.ApiResponse;
+import com.propertyapp.dto.SavedSearchRequest;
+import com.propertyapp.model.SavedSearch;
+import com.propertyapp.service.SavedSearchService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/saved-searches")
+@CrossOrigin(origins = "*")
+public class SavedSearchController {
+    
+    @Autowired
+    private SavedSearchService savedSearchService;
+    
+    @PostMapping("/create/{customerId}")
+    public ResponseEntity<ApiResponse<SavedSearch>> createSavedSearch(
+            @PathVariable Long customerId,
+            @Valid @RequestBody SavedSearchRequest request) {
+        try {
+            SavedSearch savedSearch = savedSearchService.createSavedSearch(customerId, request);
+            return ResponseEntity.ok(ApiResponse.success("Search saved successfully", savedSearch));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to save search: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/customer/{customerId}")
+    public ResponseEntity<ApiResponse<List<SavedSearch>>> getSavedSearches(@PathVariable Long customerId) {
+        try {
+            List<SavedSearch> searches = savedSearchService.getSavedSearches(customerId);
+            return ResponseEntity.ok(ApiResponse.success("Saved searches retrieved successfully", searches));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to retrieve saved searches: " + e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/delete/{savedSearchId}/{customerId}")
+    public ResponseEntity<ApiResponse<String>> deleteSavedSearch(
+            @PathVariable Long savedSearchId,
+            @PathVariable Long customerId) {
+        try {
+            savedSearchService.deleteSavedSearch(savedSearchId, customerId);
+            return ResponseEntity.ok(ApiResponse.success("Saved search deleted successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Failed to delete saved search: " + e.getMessage()));
+        }
+    }
+}
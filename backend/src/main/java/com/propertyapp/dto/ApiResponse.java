@@ -9,6 +9,8 @@ public class ApiResponse<T> {
     private String message;
     private T data;
     private String error;
+    private String nextCursor;
+    private Boolean hasMore;
     
     // Constructors
     public ApiResponse() {}
@@ -33,6 +35,13 @@ public class ApiResponse<T> {
         return new ApiResponse<>(true, message, data);
     }
     
+    public static <T> ApiResponse<T> success(String message, T data, String nextCursor, boolean hasMore) {
+        ApiResponse<T> response = new ApiResponse<>(true, message, data);
+        response.setNextCursor(nextCursor);
+        response.setHasMore(hasMore);
+        return response;
+    }
+    
     public static <T> ApiResponse<T> error(String message) {
         ApiResponse<T> response = new ApiResponse<>(false, message);
         response.setError(message);
@@ -51,4 +60,10 @@ public class ApiResponse<T> {
     
     public String getError() { return error; }
     public void setError(String error) { this.error = error; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    public Boolean getHasMore() { return hasMore; }
+    public void setHasMore(Boolean hasMore) { this.hasMore = hasMore; }
 }
@@ -0,0 +1,37 @@
+package com.propertyapp.dto;
+
+public class AutocompleteSuggestion {
+    
+    public enum Kind {
+        CITY, STATE, PINCODE, LOCALITY
+    }
+    
+    private String value;
+    private Kind kind;
+    // City the locality or pincode belongs to; null for cities and states
+    private String city;
+    private long count;
+    
+    // Constructors
+    public AutocompleteSuggestion() {}
+    
+    public AutocompleteSuggestion(String value, Kind kind, String city, long count) {
+        this.value = value;
+        this.kind = kind;
+        this.city = city;
+        this.count = count;
+    }
+    
+    // Getters and Setters
+    public String getValue() { return value; }
+    public void setValue(String value) { this.value = value; }
+    
+    public Kind getKind() { return kind; }
+    public void setKind(Kind kind) { this.kind = kind; }
+    
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
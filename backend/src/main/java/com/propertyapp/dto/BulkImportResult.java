@@ -0,0 +1,70 @@
+package com.propertyapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportResult {
+    
+    public enum Status {
+        CREATED, FAILED
+    }
+    
+    private int totalRows;
+    private int created;
+    private int failed;
+    private List<RowResult> rows = new ArrayList<>();
+    
+    public static class RowResult {
+        private int row;
+        private Status status;
+        private Long propertyId;
+        private String error;
+        
+        public RowResult() {}
+        
+        public RowResult(int row, Status status, Long propertyId, String error) {
+            this.row = row;
+            this.status = status;
+            this.propertyId = propertyId;
+            this.error = error;
+        }
+        
+        public int getRow() { return row; }
+        public void setRow(int row) { this.row = row; }
+        
+        public Status getStatus() { return status; }
+        public void setStatus(Status status) { this.status = status; }
+        
+        public Long getPropertyId() { return propertyId; }
+        public void setPropertyId(Long propertyId) { this.propertyId = propertyId; }
+        
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+    
+    // Constructors
+    public BulkImportResult() {}
+    
+    public void addCreated(int row, Long propertyId) {
+        rows.add(new RowResult(row, Status.CREATED, propertyId, null));
+        created++;
+    }
+    
+    public void addFailed(int row, String error) {
+        rows.add(new RowResult(row, Status.FAILED, null, error));
+        failed++;
+    }
+    
+    // Getters and Setters
+    public int getTotalRows() { return totalRows; }
+    public void setTotalRows(int totalRows) { this.totalRows = totalRows; }
+    
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+    
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    
+    public List<RowResult> getRows() { return rows; }
+    public void setRows(List<RowResult> rows) { this.rows = rows; }
+}
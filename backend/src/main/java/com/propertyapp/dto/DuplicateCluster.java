@@ -0,0 +1,34 @@
+package com.propertyapp.dto;
+
+import java.util.List;
+
+/**
+ * A group of listings that look like re-posts of the same property.
+ * {@code minSimilarity} is the weakest estimated similarity among the pairs
+ * that link the group together.
+ */
+public class DuplicateCluster {
+    
+    private List<Long> propertyIds;
+    private List<Long> sellerIds;
+    private double minSimilarity;
+    
+    // Constructors
+    public DuplicateCluster() {}
+    
+    public DuplicateCluster(List<Long> propertyIds, List<Long> sellerIds, double minSimilarity) {
+        this.propertyIds = propertyIds;
+        this.sellerIds = sellerIds;
+        this.minSimilarity = minSimilarity;
+    }
+    
+    // Getters and Setters
+    public List<Long> getPropertyIds() { return propertyIds; }
+    public void setPropertyIds(List<Long> propertyIds) { this.propertyIds = propertyIds; }
+    
+    public List<Long> getSellerIds() { return sellerIds; }
+    public void setSellerIds(List<Long> sellerIds) { this.sellerIds = sellerIds; }
+    
+    public double getMinSimilarity() { return minSimilarity; }
+    public void setMinSimilarity(double minSimilarity) { this.minSimilarity = minSimilarity; }
+}
@@ -0,0 +1,31 @@
+package com.propertyapp.dto;
+
+import java.util.List;
+
+/**
+ * Result of the duplicate scan over the whole catalogue. A non-zero
+ * {@code uncheckedPairs} means some band buckets were too crowded to compare
+ * exhaustively, so clusters there may be missing members.
+ */
+public class DuplicateReport {
+    
+    private List<DuplicateCluster> clusters;
+    private long uncheckedPairs;
+    
+    // Constructors
+    public DuplicateReport() {}
+    
+    public DuplicateReport(List<DuplicateCluster> clusters, long uncheckedPairs) {
+        this.clusters = clusters;
+        this.uncheckedPairs = uncheckedPairs;
+    }
+    
+    // Getters and Setters
+    public List<DuplicateCluster> getClusters() { return clusters; }
+    public void setClusters(List<DuplicateCluster> clusters) { this.clusters = clusters; }
+    
+    public long getUncheckedPairs() { return uncheckedPairs; }
+    public void setUncheckedPairs(long uncheckedPairs) { this.uncheckedPairs = uncheckedPairs; }
+    
+    public boolean isComplete() { return uncheckedPairs == 0; }
+}
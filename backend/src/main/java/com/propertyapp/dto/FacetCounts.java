@@ -0,0 +1,60 @@
+package com.propertyapp.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public class FacetCounts {
+    
+    public static class BucketCount {
+        private BigDecimal from;
+        private BigDecimal to;
+        private long count;
+        
+        public BucketCount() {}
+        
+        public BucketCount(BigDecimal from, BigDecimal to, long count) {
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+        
+        public BigDecimal getFrom() { return from; }
+        public void setFrom(BigDecimal from) { this.from = from; }
+        
+        public BigDecimal getTo() { return to; }
+        public void setTo(BigDecimal to) { this.to = to; }
+        
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+    }
+    
+    private long total;
+    private Map<String, Long> propertyTypes;
+    private Map<String, Long> cities;
+    private Map<String, Long> states;
+    private List<BucketCount> priceBuckets;
+    private List<BucketCount> sizeBuckets;
+    
+    // Constructors
+    public FacetCounts() {}
+    
+    // Getters and Setters
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    
+    public Map<String, Long> getPropertyTypes() { return propertyTypes; }
+    public void setPropertyTypes(Map<String, Long> propertyTypes) { this.propertyTypes = propertyTypes; }
+    
+    public Map<String, Long> getCities() { return cities; }
+    public void setCities(Map<String, Long> cities) { this.cities = cities; }
+    
+    public Map<String, Long> getStates() { return states; }
+    public void setStates(Map<String, Long> states) { this.states = states; }
+    
+    public List<BucketCount> getPriceBuckets() { return priceBuckets; }
+    public void setPriceBuckets(List<BucketCount> priceBuckets) { this.priceBuckets = priceBuckets; }
+    
+    public List<BucketCount> getSizeBuckets() { return sizeBuckets; }
+    public void setSizeBuckets(List<BucketCount> sizeBuckets) { this.sizeBuckets = sizeBuckets; }
+}
@@ -0,0 +1,44 @@
+package com.propertyapp.dto;
+
+import com.propertyapp.model.Inquiry;
+import com.propertyapp.model.InquiryStatus;
+
+/**
+ * Payload of an "inquiry" server-sent event, delivered only to the customer
+ * and the seller of the inquiry.
+ */
+public class InquiryEvent {
+    
+    private Long inquiryId;
+    private Long propertyId;
+    private String propertyTitle;
+    private InquiryStatus status;
+    private String closingReason;
+    
+    // Constructors
+    public InquiryEvent() {}
+    
+    public InquiryEvent(Inquiry inquiry) {
+        this.inquiryId = inquiry.getInquiryId();
+        this.propertyId = inquiry.getProperty().getPropertyId();
+        this.propertyTitle = inquiry.getProperty().getTitle();
+        this.status = inquiry.getInquiryStatus();
+        this.closingReason = inquiry.getClosingReason();
+    }
+    
+    // Getters and Setters
+    public Long getInquiryId() { return inquiryId; }
+    public void setInquiryId(Long inquiryId) { this.inquiryId = inquiryId; }
+    
+    public Long getPropertyId() { return propertyId; }
+    public void setPropertyId(Long propertyId) { this.propertyId = propertyId; }
+    
+    public String getPropertyTitle() { return propertyTitle; }
+    public void setPropertyTitle(String propertyTitle) { this.propertyTitle = propertyTitle; }
+    
+    public InquiryStatus getStatus() { return status; }
+    public void setStatus(InquiryStatus status) { this.status = status; }
+    
+    public String getClosingReason() { return closingReason; }
+    public void setClosingReason(String closingReason) { this.closingReason = closingReason; }
+}
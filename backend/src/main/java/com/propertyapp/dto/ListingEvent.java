@@ -0,0 +1,57 @@
+package com.propertyapp.dto;
+
+import com.propertyapp.model.Property;
+import com.propertyapp.model.PropertyType;
+
+import java.math.BigDecimal;
+
+/**
+ * Payload of a "listing" server-sent event. Carries just enough to update a
+ * list row or decide whether to refetch; full details come from the REST API.
+ */
+public class ListingEvent {
+    
+    public enum Action {
+        CREATED,
+        UPDATED,
+        DEACTIVATED
+    }
+    
+    private Action action;
+    private Long propertyId;
+    private PropertyType propertyType;
+    private String title;
+    private String city;
+    private BigDecimal price;
+    
+    // Constructors
+    public ListingEvent() {}
+    
+    public ListingEvent(Action action, Property property) {
+        this.action = action;
+        this.propertyId = property.getPropertyId();
+        this.propertyType = property.getPropertyType();
+        this.title = property.getTitle();
+        this.city = property.getCity();
+        this.price = property.getPrice();
+    }
+    
+    // Getters and Setters
+    public Action getAction() { return action; }
+    public void setAction(Action action) { this.action = action; }
+    
+    public Long getPropertyId() { return propertyId; }
+    public void setPropertyId(Long propertyId) { this.propertyId = propertyId; }
+    
+    public PropertyType getPropertyType() { return propertyType; }
+    public void setPropertyType(PropertyType propertyType) { this.propertyType = propertyType; }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+}
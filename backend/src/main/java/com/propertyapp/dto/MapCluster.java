@@ -0,0 +1,50 @@
+package com.propertyapp.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One map marker: a group of listings that share a grid cell at the requested
+ * zoom. {@code propertyId} is set only when the cluster is a single listing,
+ * so the client can open it directly instead of zooming in.
+ */
+public class MapCluster {
+    
+    private double latitude;
+    private double longitude;
+    private int count;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Long propertyId;
+    
+    // Constructors
+    public MapCluster() {}
+    
+    public MapCluster(double latitude, double longitude, int count, BigDecimal minPrice, BigDecimal maxPrice,
+                      Long propertyId) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.count = count;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.propertyId = propertyId;
+    }
+    
+    // Getters and Setters
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+    
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+    
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+    
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+    
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+    
+    public Long getPropertyId() { return propertyId; }
+    public void setPropertyId(Long propertyId) { this.propertyId = propertyId; }
+}
@@ -0,0 +1,80 @@
+package com.propertyapp.dto;
+
+import com.propertyapp.model.PropertyType;
+
+import java.math.BigDecimal;
+
+/**
+ * Price-per-unit-area statistics for active listings in a city, optionally
+ * narrowed to one property type. Quantiles are approximate (within the
+ * sketch's relative accuracy); figures are null when there are no listings.
+ * When a size is supplied, the estimated price range is the interquartile
+ * range scaled to that size.
+ */
+public class MarketStats {
+    
+    private String city;
+    private PropertyType propertyType;
+    private long listings;
+    private BigDecimal averagePricePerSqft;
+    private BigDecimal p10PricePerSqft;
+    private BigDecimal p25PricePerSqft;
+    private BigDecimal medianPricePerSqft;
+    private BigDecimal p75PricePerSqft;
+    private BigDecimal p90PricePerSqft;
+    private BigDecimal minPricePerSqft;
+    private BigDecimal maxPricePerSqft;
+    private BigDecimal size;
+    private BigDecimal estimatedPrice;
+    private BigDecimal estimatedPriceLow;
+    private BigDecimal estimatedPriceHigh;
+    
+    // Constructors
+    public MarketStats() {}
+    
+    // Getters and Setters
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public PropertyType getPropertyType() { return propertyType; }
+    public void setPropertyType(PropertyType propertyType) { this.propertyType = propertyType; }
+    
+    public long getListings() { return listings; }
+    public void setListings(long listings) { this.listings = listings; }
+    
+    public BigDecimal getAveragePricePerSqft() { return averagePricePerSqft; }
+    public void setAveragePricePerSqft(BigDecimal averagePricePerSqft) { this.averagePricePerSqft = averagePricePerSqft; }
+    
+    public BigDecimal getP10PricePerSqft() { return p10PricePerSqft; }
+    public void setP10PricePerSqft(BigDecimal p10PricePerSqft) { this.p10PricePerSqft = p10PricePerSqft; }
+    
+    public BigDecimal getP25PricePerSqft() { return p25PricePerSqft; }
+    public void setP25PricePerSqft(BigDecimal p25PricePerSqft) { this.p25PricePerSqft = p25PricePerSqft; }
+    
+    public BigDecimal getMedianPricePerSqft() { return medianPricePerSqft; }
+    public void setMedianPricePerSqft(BigDecimal medianPricePerSqft) { this.medianPricePerSqft = medianPricePerSqft; }
+    
+    public BigDecimal getP75PricePerSqft() { return p75PricePerSqft; }
+    public void setP75PricePerSqft(BigDecimal p75PricePerSqft) { this.p75PricePerSqft = p75PricePerSqft; }
+    
+    public BigDecimal getP90PricePerSqft() { return p90PricePerSqft; }
+    public void setP90PricePerSqft(BigDecimal p90PricePerSqft) { this.p90PricePerSqft = p90PricePerSqft; }
+    
+    public BigDecimal getMinPricePerSqft() { return minPricePerSqft; }
+    public void setMinPricePerSqft(BigDecimal minPricePerSqft) { this.minPricePerSqft = minPricePerSqft; }
+    
+    public BigDecimal getMaxPricePerSqft() { return maxPricePerSqft; }
+    public void setMaxPricePerSqft(BigDecimal maxPricePerSqft) { this.maxPricePerSqft = maxPricePerSqft; }
+    
+    public BigDecimal getSize() { return size; }
+    public void setSize(BigDecimal size) { this.size = size; }
+    
+    public BigDecimal getEstimatedPrice() { return estimatedPrice; }
+    public void setEstimatedPrice(BigDecimal estimatedPrice) { this.estimatedPrice = estimatedPrice; }
+    
+    public BigDecimal getEstimatedPriceLow() { return estimatedPriceLow; }
+    public void setEstimatedPriceLow(BigDecimal estimatedPriceLow) { this.estimatedPriceLow = estimatedPriceLow; }
+    
+    public BigDecimal getEstimatedPriceHigh() { return estimatedPriceHigh; }
+    public void setEstimatedPriceHigh(BigDecimal estimatedPriceHigh) { this.estimatedPriceHigh = estimatedPriceHigh; }
+}
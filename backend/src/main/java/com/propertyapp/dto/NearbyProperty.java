@@ -0,0 +1,22 @@
+package com.propertyapp.dto;
+
+public class NearbyProperty {
+    
+    private PropertySummary property;
+    private double distanceKm;
+    
+    // Constructors
+    public NearbyProperty() {}
+    
+    public NearbyProperty(PropertySummary property, double distanceKm) {
+        this.property = property;
+        this.distanceKm = distanceKm;
+    }
+    
+    // Getters and Setters
+    public PropertySummary getProperty() { return property; }
+    public void setProperty(PropertySummary property) { this.property = property; }
+    
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+}
@@ -0,0 +1,47 @@
+package com.propertyapp.dto;
+
+import com.propertyapp.model.PropertyType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the delta-sync feed: the current summary of a listing that was
+ * created or updated, or a tombstone ({@code deleted = true}, no summary) for
+ * a listing that has been deactivated and should be dropped from the replica.
+ */
+public class PropertyChange {
+    
+    private Long propertyId;
+    private boolean deleted;
+    private LocalDateTime updatedAt;
+    private PropertySummary property;
+    
+    // Constructors
+    public PropertyChange() {}
+    
+    public PropertyChange(Long propertyId, Boolean isActive, LocalDateTime updatedAt, String title,
+                          PropertyType propertyType, BigDecimal price, BigDecimal propertySize, String city,
+                          String state, String imagesPrefix, String sellerName, LocalDateTime createdAt) {
+        this.propertyId = propertyId;
+        this.deleted = !Boolean.TRUE.equals(isActive);
+        this.updatedAt = updatedAt;
+        if (!deleted) {
+            this.property = new PropertySummary(propertyId, title, propertyType, price, propertySize,
+                    city, state, imagesPrefix, sellerName, createdAt);
+        }
+    }
+    
+    // Getters and Setters
+    public Long getPropertyId() { return propertyId; }
+    public void setPropertyId(Long propertyId) { this.propertyId = propertyId; }
+    
+    public boolean isDeleted() { return deleted; }
+    public void setDeleted(boolean deleted) { this.deleted = deleted; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public PropertySummary getProperty() { return property; }
+    public void setProperty(PropertySummary property) { this.property = property; }
+}
@@ -0,0 +1,135 @@
+package com.propertyapp.dto;
+
+import com.propertyapp.model.Property;
+import com.propertyapp.model.PropertyType;
+import com.propertyapp.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Detached read model for the property detail screen. Safe to cache and share
+ * between requests because it holds no Hibernate proxies.
+ */
+public class PropertyDetail {
+    
+    private Long propertyId;
+    private PropertyType propertyType;
+    private String title;
+    private String description;
+    private BigDecimal propertySize;
+    private BigDecimal price;
+    private String address;
+    private String city;
+    private String state;
+    private String pincode;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private String propertyImages;
+    private String ptrDocument;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+    private Long sellerId;
+    private String sellerName;
+    private String sellerContact;
+    
+    // Constructors
+    public PropertyDetail() {}
+    
+    // Requires the seller association to be initialised
+    public static PropertyDetail from(Property property) {
+        PropertyDetail detail = new PropertyDetail();
+        detail.propertyId = property.getPropertyId();
+        detail.propertyType = property.getPropertyType();
+        detail.title = property.getTitle();
+        detail.description = property.getDescription();
+        detail.propertySize = property.getPropertySize();
+        detail.price = property.getPrice();
+        detail.address = property.getAddress();
+        detail.city = property.getCity();
+        detail.state = property.getState();
+        detail.pincode = property.getPincode();
+        detail.latitude = property.getLatitude();
+        detail.longitude = property.getLongitude();
+        detail.propertyImages = property.getPropertyImages();
+        detail.ptrDocument = property.getPtrDocument();
+        detail.isActive = property.getIsActive();
+        detail.createdAt = property.getCreatedAt();
+        detail.updatedAt = property.getUpdatedAt();
+        detail.version = property.getVersion();
+        
+        User seller = property.getSeller();
+        if (seller != null) {
+            detail.sellerId = seller.getUserId();
+            detail.sellerName = seller.getFullName();
+            detail.sellerContact = seller.getMobileNumber();
+        }
+        return detail;
+    }
+    
+    // Getters and Setters
+    public Long getPropertyId() { return propertyId; }
+    public void setPropertyId(Long propertyId) { this.propertyId = propertyId; }
+    
+    public PropertyType getPropertyType() { return propertyType; }
+    public void setPropertyType(PropertyType propertyType) { this.propertyType = propertyType; }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public BigDecimal getPropertySize() { return propertySize; }
+    public void setPropertySize(BigDecimal propertySize) { this.propertySize = propertySize; }
+    
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+    
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+    
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+    
+    public String getPincode() { return pincode; }
+    public void setPincode(String pincode) { this.pincode = pincode; }
+    
+    public BigDecimal getLatitude() { return latitude; }
+    public void setLatitude(BigDecimal latitude) { this.latitude = latitude; }
+    
+    public BigDecimal getLongitude() { return longitude; }
+    public void setLongitude(BigDecimal longitude) { this.longitude = longitude; }
+    
+    public String getPropertyImages() { return propertyImages; }
+    public void setPropertyImages(String propertyImages) { this.propertyImages = propertyImages; }
+    
+    public String getPtrDocument() { return ptrDocument; }
+    public void setPtrDocument(String ptrDocument) { this.ptrDocument = ptrDocument; }
+    
+    public Boolean getIsActive() { return isActive; }
+    public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
+    public Long getSellerId() { return sellerId; }
+    public void setSellerId(Long sellerId) { this.sellerId = sellerId; }
+    
+    public String getSellerName() { return sellerName; }
+    public void setSellerName(String sellerName) { this.sellerName = sellerName; }
+    
+    public String getSellerContact() { return sellerContact; }
+    public void setSellerContact(String sellerContact) { this.sellerContact = sellerContact; }
+}
@@ -0,0 +1,31 @@
+package com.propertyapp.dto;
+
+/**
+ * One entry of a multi-get response. {@code property} is null and
+ * {@code found} is false when the requested ID does not exist.
+ */
+public class PropertyLookup {
+    
+    private Long propertyId;
+    private boolean found;
+    private PropertyDetail property;
+    
+    // Constructors
+    public PropertyLookup() {}
+    
+    public PropertyLookup(Long propertyId, PropertyDetail property) {
+        this.propertyId = propertyId;
+        this.found = property != null;
+        this.property = property;
+    }
+    
+    // Getters and Setters
+    public Long getPropertyId() { return propertyId; }
+    public void setPropertyId(Long propertyId) { this.propertyId = propertyId; }
+    
+    public boolean isFound() { return found; }
+    public void setFound(boolean found) { this.found = found; }
+    
+    public PropertyDetail getProperty() { return property; }
+    public void setProperty(PropertyDetail property) { this.property = property; }
+}
@@ -0,0 +1,96 @@
+package com.propertyapp.dto;
+
+import com.propertyapp.model.PropertyType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+/**
+ * Partial listing update. Only non-null fields are applied; {@code version}
+ * is the listing version the client last read and must still be current.
+ */
+public class PropertyPatchRequest {
+    
+    @NotNull(message = "Version is required")
+    private Long version;
+    
+    private PropertyType propertyType;
+    
+    @Size(min = 1, max = 200, message = "Title must be 1 to 200 characters")
+    private String title;
+    
+    private String description;
+    
+    @DecimalMin(value = "0.0", inclusive = false, message = "Size must be greater than 0")
+    private BigDecimal propertySize;
+    
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    private BigDecimal price;
+    
+    @Size(min = 1, max = 500, message = "Address must be 1 to 500 characters")
+    private String address;
+    
+    @Size(min = 1, max = 100, message = "City must be 1 to 100 characters")
+    private String city;
+    
+    @Size(min = 1, max = 100, message = "State must be 1 to 100 characters")
+    private String state;
+    
+    @Size(min = 1, max = 10, message = "Pincode must be 1 to 10 characters")
+    private String pincode;
+    
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private String propertyImages;
+    
+    @Size(max = 500, message = "PTR document path must not exceed 500 characters")
+    private String ptrDocument;
+    
+    // Constructors
+    public PropertyPatchRequest() {}
+    
+    // Getters and Setters
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
+    public PropertyType getPropertyType() { return propertyType; }
+    public void setPropertyType(PropertyType propertyType) { this.propertyType = propertyType; }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public BigDecimal getPropertySize() { return propertySize; }
+    public void setPropertySize(BigDecimal propertySize) { this.propertySize = propertySize; }
+    
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+    
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+    
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+    
+    public String getPincode() { return pincode; }
+    public void setPincode(String pincode) { this.pincode = pincode; }
+    
+    public BigDecimal getLatitude() { return latitude; }
+    public void setLatitude(BigDecimal latitude) { this.latitude = latitude; }
+    
+    public BigDecimal getLongitude() { return longitude; }
+    public void setLongitude(BigDecimal longitude) { this.longitude = longitude; }
+    
+    public String getPropertyImages() { return propertyImages; }
+    public void setPropertyImages(String propertyImages) { this.propertyImages = propertyImages; }
+    
+    public String getPtrDocument() { return ptrDocument; }
+    public void setPtrDocument(String ptrDocument) { this.ptrDocument = ptrDocument; }
+}
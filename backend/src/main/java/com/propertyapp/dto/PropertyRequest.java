@@ -46,6 +46,9 @@ public class PropertyRequest {
     private String propertyImages;
     private String ptrDocument;
     
+    // Version last read by the client; when set, an update is refused if the listing has moved on since
+    private Long version;
+    
     // Constructors
     public PropertyRequest() {}
     
@@ -88,4 +91,7 @@ public class PropertyRequest {
     
     public String getPtrDocument() { return ptrDocument; }
     public void setPtrDocument(String ptrDocument) { this.ptrDocument = ptrDocument; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,65 @@
+package com.propertyapp.dto;
+
+import com.propertyapp.model.PropertyType;
+
+import java.math.BigDecimal;
+
+public class PropertySearchCriteria {
+    
+    public enum Sort {
+        NEWEST,
+        PRICE_ASC,
+        PRICE_DESC,
+        SIZE_ASC,
+        SIZE_DESC
+    }
+    
+    private PropertyType propertyType;
+    private String city;
+    private String state;
+    private String pincode;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private BigDecimal minSize;
+    private BigDecimal maxSize;
+    private Sort sort = Sort.NEWEST;
+    private int page = 0;
+    private Integer size;
+    
+    // Constructors
+    public PropertySearchCriteria() {}
+    
+    // Getters and Setters
+    public PropertyType getPropertyType() { return propertyType; }
+    public void setPropertyType(PropertyType propertyType) { this.propertyType = propertyType; }
+    
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+    
+    public String getPincode() { return pincode; }
+    public void setPincode(String pincode) { this.pincode = pincode; }
+    
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+    
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+    
+    public BigDecimal getMinSize() { return minSize; }
+    public void setMinSize(BigDecimal minSize) { this.minSize = minSize; }
+    
+    public BigDecimal getMaxSize() { return maxSize; }
+    public void setMaxSize(BigDecimal maxSize) { this.maxSize = maxSize; }
+    
+    public Sort getSort() { return sort; }
+    public void setSort(Sort sort) { this.sort = sort; }
+    
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+}
@@ -0,0 +1,113 @@
+package com.propertyapp.dto;
+
+import com.propertyapp.model.PropertyType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Compact read model for listing screens. Populated by constructor-expression
+ * queries that join the seller, so a page of results is one SQL round trip and
+ * never touches the description column.
+ */
+public class PropertySummary {
+    
+    // Only this many leading characters of property_images are fetched to find the thumbnail
+    public static final int IMAGES_PREFIX_LENGTH = 1000;
+    
+    private Long propertyId;
+    private String title;
+    private PropertyType propertyType;
+    private BigDecimal price;
+    private BigDecimal propertySize;
+    private String city;
+    private String state;
+    private String thumbnailUrl;
+    private String mediumImageUrl;
+    private String sellerName;
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public PropertySummary() {}
+    
+    public PropertySummary(Long propertyId, String title, PropertyType propertyType, BigDecimal price,
+                           BigDecimal propertySize, String city, String state, String imagesPrefix,
+                           String sellerName, LocalDateTime createdAt) {
+        this.propertyId = propertyId;
+        this.title = title;
+        this.propertyType = propertyType;
+        this.price = price;
+        this.propertySize = propertySize;
+        this.city = city;
+        this.state = state;
+        this.thumbnailUrl = firstImage(imagesPrefix);
+        this.sellerName = sellerName;
+        this.createdAt = createdAt;
+    }
+    
+    /**
+     * First URL of the property_images JSON array. Works on a truncated prefix
+     * of the column as long as the first entry is complete.
+     */
+    static String firstImage(String images) {
+        if (images == null || images.isBlank()) {
+            return null;
+        }
+        String trimmed = images.trim();
+        if (!trimmed.startsWith("[")) {
+            // Legacy rows store a bare URL or a comma-separated list
+            int comma = trimmed.indexOf(',');
+            return comma < 0 ? trimmed : trimmed.substring(0, comma).trim();
+        }
+        int start = trimmed.indexOf('"');
+        if (start < 0) {
+            return null;
+        }
+        StringBuilder url = new StringBuilder();
+        for (int i = start + 1; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c == '\\' && i + 1 < trimmed.length()) {
+                url.append(trimmed.charAt(++i));
+            } else if (c == '"') {
+                return url.toString();
+            } else {
+                url.append(c);
+            }
+        }
+        return null;
+    }
+    
+    // Getters and Setters
+    public Long getPropertyId() { return propertyId; }
+    public void setPropertyId(Long propertyId) { this.propertyId = propertyId; }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public PropertyType getPropertyType() { return propertyType; }
+    public void setPropertyType(PropertyType propertyType) { this.propertyType = propertyType; }
+    
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+    
+    public BigDecimal getPropertySize() { return propertySize; }
+    public void setPropertySize(BigDecimal propertySize) { this.propertySize = propertySize; }
+    
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+    
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+    
+    public String getMediumImageUrl() { return mediumImageUrl; }
+    public void setMediumImageUrl(String mediumImageUrl) { this.mediumImageUrl = mediumImageUrl; }
+    
+    public String getSellerName() { return sellerName; }
+    public void setSellerName(String sellerName) { this.sellerName = sellerName; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
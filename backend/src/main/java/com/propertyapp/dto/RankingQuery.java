@@ -0,0 +1,54 @@
+package com.propertyapp.dto;
+
+import com.propertyapp.model.PropertyType;
+
+import java.math.BigDecimal;
+
+/**
+ * Input to the "best match" ranking. {@code propertyType}, {@code city} and
+ * {@code radiusKm} filter candidates; the rest are soft preferences that only
+ * influence the score.
+ */
+public class RankingQuery {
+    
+    private String q;
+    private PropertyType propertyType;
+    private String city;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private BigDecimal radiusKm;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer limit;
+    
+    // Constructors
+    public RankingQuery() {}
+    
+    // Getters and Setters
+    public String getQ() { return q; }
+    public void setQ(String q) { this.q = q; }
+    
+    public PropertyType getPropertyType() { return propertyType; }
+    public void setPropertyType(PropertyType propertyType) { this.propertyType = propertyType; }
+    
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public BigDecimal getLatitude() { return latitude; }
+    public void setLatitude(BigDecimal latitude) { this.latitude = latitude; }
+    
+    public BigDecimal getLongitude() { return longitude; }
+    public void setLongitude(BigDecimal longitude) { this.longitude = longitude; }
+    
+    public BigDecimal getRadiusKm() { return radiusKm; }
+    public void setRadiusKm(BigDecimal radiusKm) { this.radiusKm = radiusKm; }
+    
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+    
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+    
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
+}
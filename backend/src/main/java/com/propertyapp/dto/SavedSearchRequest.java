@@ -0,0 +1,77 @@
+package com.propertyapp.dto;
+
+import com.propertyapp.model.PropertyType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public class SavedSearchRequest {
+    
+    @Size(max = 100, message = "Name must not exceed 100 characters")
+    private String name;
+    
+    private PropertyType propertyType;
+    
+    @Size(max = 100, message = "City must not exceed 100 characters")
+    private String city;
+    
+    @DecimalMin(value = "0.0", message = "Minimum price must not be negative")
+    private BigDecimal minPrice;
+    
+    @DecimalMin(value = "0.0", message = "Maximum price must not be negative")
+    private BigDecimal maxPrice;
+    
+    @DecimalMin(value = "0.0", message = "Minimum size must not be negative")
+    private BigDecimal minSize;
+    
+    @DecimalMin(value = "0.0", message = "Maximum size must not be negative")
+    private BigDecimal maxSize;
+    
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private BigDecimal latitude;
+    
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private BigDecimal longitude;
+    
+    @DecimalMin(value = "0.0", inclusive = false, message = "Radius must be greater than 0")
+    @DecimalMax(value = "100.0", message = "Radius must not exceed 100 km")
+    private BigDecimal radiusKm;
+    
+    // Constructors
+    public SavedSearchRequest() {}
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public PropertyType getPropertyType() { return propertyType; }
+    public void setPropertyType(PropertyType propertyType) { this.propertyType = propertyType; }
+    
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+    
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+    
+    public BigDecimal getMinSize() { return minSize; }
+    public void setMinSize(BigDecimal minSize) { this.minSize = minSize; }
+    
+    public BigDecimal getMaxSize() { return maxSize; }
+    public void setMaxSize(BigDecimal maxSize) { this.maxSize = maxSize; }
+    
+    public BigDecimal getLatitude() { return latitude; }
+    public void setLatitude(BigDecimal latitude) { this.latitude = latitude; }
+    
+    public BigDecimal getLongitude() { return longitude; }
+    public void setLongitude(BigDecimal longitude) { this.longitude = longitude; }
+    
+    public BigDecimal getRadiusKm() { return radiusKm; }
+    public void setRadiusKm(BigDecimal radiusKm) { this.radiusKm = radiusKm; }
+}
@@ -0,0 +1,428 @@
+package com.propertyapp.index;
+
+import com.propertyapp.dto.AutocompleteSuggestion;
+import com.propertyapp.dto.AutocompleteSuggestion.Kind;
+import com.propertyapp.model.Property;
+import com.propertyapp.service.PropertyChangeListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prefix trie over the distinct cities, states, pincodes and localities of
+ * active listings, each with its listing count. Every node caches the best
+ * {@value #MAX_SUGGESTIONS} entries of its subtree, so a lookup is a walk down
+ * the query's characters plus a copy; a write only invalidates the caches on
+ * the paths it touched. Multi-word values are also reachable from each later
+ * word ("Navi Mumbai" matches "mum"), and longer queries with no exact match
+ * fall back to prefixes one edit away.
+ */
+@Component
+public class AutocompleteIndex implements PropertyChangeListener {
+    
+    public static final int MAX_SUGGESTIONS = 20;
+    
+    // Typo tolerance only kicks in once the query is long enough to be unambiguous
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final int MAX_EDITS = 1;
+    
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<Long, List<Entry>> entriesByProperty = new HashMap<>();
+    
+    private static final class Entry {
+        private final Kind kind;
+        private final String value;
+        private final String city;
+        private final String[] terms;
+        private long count;
+        
+        Entry(Kind kind, String value, String city, String[] terms) {
+            this.kind = kind;
+            this.value = value;
+            this.city = city;
+            this.terms = terms;
+        }
+    }
+    
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private List<Entry> terminals;
+        // Best entries in this subtree by count; null when stale
+        private Entry[] top;
+        
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+        
+        Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int at = -index - 1;
+            Node node = new Node();
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newLabels[at] = label;
+            newChildren[at] = node;
+            System.arraycopy(labels, at, newLabels, at + 1, labels.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            labels = newLabels;
+            children = newChildren;
+            return node;
+        }
+        
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+        
+        boolean isEmpty() {
+            return labels.length == 0 && (terminals == null || terminals.isEmpty());
+        }
+    }
+    
+    @Override
+    public synchronized void rebuild(List<Property> activeProperties) {
+        root.labels = new char[0];
+        root.children = new Node[0];
+        root.terminals = null;
+        root.top = null;
+        entries.clear();
+        entriesByProperty.clear();
+        for (Property property : activeProperties) {
+            add(property);
+        }
+    }
+    
+    @Override
+    public synchronized void propertySaved(Property property, boolean created) {
+        remove(property.getPropertyId());
+        if (Boolean.TRUE.equals(property.getIsActive())) {
+            add(property);
+        }
+    }
+    
+    @Override
+    public synchronized void propertyRemoved(Property property) {
+        remove(property.getPropertyId());
+    }
+    
+    public synchronized List<AutocompleteSuggestion> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        int max = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        List<AutocompleteSuggestion> suggestions = new ArrayList<>(max);
+        if (prefix.isEmpty()) {
+            return suggestions;
+        }
+        
+        Set<Entry> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Node node = find(prefix);
+        if (node != null) {
+            for (Entry entry : top(node)) {
+                if (suggestions.size() == max) {
+                    break;
+                }
+                seen.add(entry);
+                suggestions.add(toSuggestion(entry));
+            }
+        }
+        
+        if (suggestions.isEmpty() && prefix.length() >= FUZZY_MIN_LENGTH) {
+            List<Node> matches = new ArrayList<>();
+            int[] firstRow = new int[prefix.length() + 1];
+            for (int i = 0; i < firstRow.length; i++) {
+                firstRow[i] = i;
+            }
+            for (int i = 0; i < root.labels.length; i++) {
+                collectFuzzy(root.children[i], root.labels[i], (char) 0, firstRow, null, prefix, matches);
+            }
+            List<Entry> fuzzy = new ArrayList<>();
+            for (Node match : matches) {
+                for (Entry entry : top(match)) {
+                    if (seen.add(entry)) {
+                        fuzzy.add(entry);
+                    }
+                }
+            }
+            fuzzy.sort(AutocompleteIndex::compare);
+            for (int i = 0; i < fuzzy.size() && suggestions.size() < max; i++) {
+                suggestions.add(toSuggestion(fuzzy.get(i)));
+            }
+        }
+        return suggestions;
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    private void add(Property property) {
+        List<Entry> contributed = new ArrayList<>(4);
+        String city = clean(property.getCity());
+        increment(contributed, Kind.CITY, city, null);
+        increment(contributed, Kind.STATE, clean(property.getState()), null);
+        increment(contributed, Kind.PINCODE, clean(property.getPincode()), city);
+        increment(contributed, Kind.LOCALITY,
+                locality(property.getAddress(), property.getCity(), property.getState(), property.getPincode()), city);
+        entriesByProperty.put(property.getPropertyId(), contributed);
+    }
+    
+    private void remove(Long propertyId) {
+        List<Entry> contributed = entriesByProperty.remove(propertyId);
+        if (contributed == null) {
+            return;
+        }
+        for (Entry entry : contributed) {
+            entry.count--;
+            if (entry.count <= 0) {
+                entries.remove(entry.kind.ordinal() + "|" + normalize(entry.value) + "|" + normalize(entry.city));
+                for (String term : entry.terms) {
+                    detach(term, entry);
+                }
+            } else {
+                for (String term : entry.terms) {
+                    invalidate(term);
+                }
+            }
+        }
+    }
+    
+    private void increment(List<Entry> contributed, Kind kind, String value, String city) {
+        String normalized = normalize(value);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        String key = kind.ordinal() + "|" + normalized + "|" + normalize(city);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(kind, value, city, terms(normalized));
+            entries.put(key, entry);
+            for (String term : entry.terms) {
+                attach(term, entry);
+            }
+        } else {
+            for (String term : entry.terms) {
+                invalidate(term);
+            }
+        }
+        entry.count++;
+        contributed.add(entry);
+    }
+    
+    private void attach(String term, Entry entry) {
+        Node node = root;
+        root.top = null;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.childOrCreate(term.charAt(i));
+            node.top = null;
+        }
+        if (node.terminals == null) {
+            node.terminals = new ArrayList<>(1);
+        }
+        node.terminals.add(entry);
+    }
+    
+    private void detach(String term, Entry entry) {
+        Node[] path = new Node[term.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < term.length(); i++) {
+            path[i + 1] = path[i].child(term.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node node = path[term.length()];
+        if (node.terminals != null) {
+            node.terminals.remove(entry);
+        }
+        for (Node onPath : path) {
+            onPath.top = null;
+        }
+        // Prune branches that no longer lead anywhere
+        for (int i = term.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(term.charAt(i - 1));
+        }
+    }
+    
+    private void invalidate(String term) {
+        Node node = root;
+        root.top = null;
+        for (int i = 0; i < term.length() && node != null; i++) {
+            node = node.child(term.charAt(i));
+            if (node != null) {
+                node.top = null;
+            }
+        }
+    }
+    
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+    
+    private Entry[] top(Node node) {
+        if (node.top != null) {
+            return node.top;
+        }
+        List<Entry> candidates = new ArrayList<>();
+        if (node.terminals != null) {
+            candidates.addAll(node.terminals);
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(top(child)));
+        }
+        // The same entry can arrive through several word-start terms
+        Set<Entry> unique = Collections.newSetFromMap(new IdentityHashMap<>());
+        candidates.removeIf(entry -> !unique.add(entry));
+        candidates.sort(AutocompleteIndex::compare);
+        node.top = candidates.subList(0, Math.min(MAX_SUGGESTIONS, candidates.size())).toArray(new Entry[0]);
+        return node.top;
+    }
+    
+    // Edit-distance walk (insertions, deletions, substitutions and adjacent swaps): collects the
+    // shallowest nodes whose path is within MAX_EDITS of the query
+    private static void collectFuzzy(Node node, char label, char previousLabel, int[] previousRow,
+                                     int[] rowBeforePrevious, String query, List<Node> matches) {
+        int columns = query.length() + 1;
+        int[] row = new int[columns];
+        row[0] = previousRow[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i < columns; i++) {
+            int substitution = previousRow[i - 1] + (query.charAt(i - 1) == label ? 0 : 1);
+            row[i] = Math.min(Math.min(row[i - 1] + 1, previousRow[i] + 1), substitution);
+            if (rowBeforePrevious != null && i > 1 && query.charAt(i - 1) == previousLabel
+                    && query.charAt(i - 2) == label) {
+                row[i] = Math.min(row[i], rowBeforePrevious[i - 2] + 1);
+            }
+            rowMin = Math.min(rowMin, row[i]);
+        }
+        if (row[columns - 1] <= MAX_EDITS) {
+            matches.add(node);
+            return;
+        }
+        if (rowMin <= MAX_EDITS) {
+            for (int i = 0; i < node.labels.length; i++) {
+                collectFuzzy(node.children[i], node.labels[i], label, row, previousRow, query, matches);
+            }
+        }
+    }
+    
+    private static int compare(Entry a, Entry b) {
+        int byCount = Long.compare(b.count, a.count);
+        return byCount != 0 ? byCount : a.value.compareToIgnoreCase(b.value);
+    }
+    
+    private static AutocompleteSuggestion toSuggestion(Entry entry) {
+        return new AutocompleteSuggestion(entry.value, entry.kind, entry.city, entry.count);
+    }
+    
+    // The full normalized value plus every suffix starting at a later word
+    private static String[] terms(String normalized) {
+        List<String> terms = new ArrayList<>();
+        terms.add(normalized);
+        for (int i = 1; i < normalized.length(); i++) {
+            if (normalized.charAt(i - 1) == ' ') {
+                terms.add(normalized.substring(i));
+            }
+        }
+        return terms.toArray(new String[0]);
+    }
+    
+    /**
+     * Best-effort locality from a free-form address: the last comma-separated
+     * part that is not the city, state or pincode and is not purely numeric.
+     */
+    static String locality(String address, String city, String state, String pincode) {
+        if (address == null) {
+            return null;
+        }
+        String normalizedCity = normalize(city);
+        String normalizedState = normalize(state);
+        String normalizedPincode = normalize(pincode);
+        String[] parts = address.split(",");
+        for (int i = parts.length - 1; i >= 0; i--) {
+            String normalized = normalize(parts[i]);
+            if (normalized.isEmpty() || normalized.equals(normalizedCity) || normalized.equals(normalizedState)
+                    || normalized.equals(normalizedPincode) || isNumeric(normalized)) {
+                continue;
+            }
+            return clean(parts[i]);
+        }
+        return null;
+    }
+    
+    private static boolean isNumeric(String normalized) {
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c != ' ' && !Character.isDigit(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder cleaned = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                cleaned.append(c);
+            } else if (cleaned.length() > 0 && cleaned.charAt(cleaned.length() - 1) != ' ') {
+                cleaned.append(' ');
+            }
+        }
+        String trimmed = cleaned.toString().trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+    
+    // Lower-cased letters and digits with single spaces between words
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(value.length());
+        boolean space = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.propertyapp.index;
+
+import com.propertyapp.dto.RankingQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Favours listings close to the searcher's location; only applies when the
+ * query has coordinates. A listing {@code scale-km} away scores half as much
+ * as one at the exact spot; listings without coordinates score 0.
+ */
+@Component
+public class DistanceSignal implements RankingSignal {
+    
+    @Value("${property.ranking.weights.distance:2.0}")
+    private double weight;
+    
+    @Value("${property.ranking.distance-scale-km:5}")
+    private double scaleKm;
+    
+    @Override
+    public String name() {
+        return "distance";
+    }
+    
+    @Override
+    public double weight() {
+        return weight;
+    }
+    
+    @Override
+    public Scorer prepare(RankingQuery query, long nowMillis) {
+        if (query.getLatitude() == null || query.getLongitude() == null) {
+            return null;
+        }
+        double lat = query.getLatitude().doubleValue();
+        double lon = query.getLongitude().doubleValue();
+        return listing -> {
+            double distanceKm = listing.distanceKmTo(lat, lon);
+            return Double.isNaN(distanceKm) ? 0.0 : scaleKm / (scaleKm + distanceKm);
+        };
+    }
+}
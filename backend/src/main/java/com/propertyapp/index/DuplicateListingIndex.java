@@ -0,0 +1,586 @@
+package com.propertyapp.index;
+
+import com.propertyapp.dto.DuplicateCluster;
+import com.propertyapp.dto.DuplicateReport;
+import com.propertyapp.model.Property;
+import com.propertyapp.service.PropertyChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Near-duplicate detection for re-posted listings. Each active listing is
+ * reduced to a MinHash signature over its normalised title and address words,
+ * pincode, type and rounded price and size, so two listings' signatures agree
+ * in about the same fraction of positions as their feature sets overlap.
+ * Signatures are split into bands and indexed by band (locality-sensitive
+ * hashing): a lookup only compares against listings that share a whole band,
+ * which is a handful of hash lookups regardless of catalogue size.
+ */
+@Component
+public class DuplicateListingIndex implements PropertyChangeListener {
+    
+    private static final int NUM_HASHES = 64;
+    // 16 bands of 4 rows: pairs at 0.7 similarity share a band ~99% of the time, pairs at 0.3 ~12%
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+    
+    // Price and size are rounded to ~10% steps so a small edit still produces the same feature
+    private static final double AMOUNT_STEP = Math.log(1.1);
+    
+    // Verification work per band bucket on a single lookup, and per bucket member in the clustering job;
+    // keeps a crowded bucket from turning either into a scan
+    private static final int MAX_BUCKET_CHECKS = 64;
+    
+    private static final long[] SEEDS = new long[NUM_HASHES];
+    
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+    
+    @Value("${property.dedupe.similarity-threshold:0.7}")
+    private double similarityThreshold;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // Every listing adds one entry per band, so this is kept primitive rather than a map of boxed lists
+    private final BandTable buckets = new BandTable();
+    
+    public static final class Match {
+        private final long propertyId;
+        private final long sellerId;
+        private final double similarity;
+        
+        Match(long propertyId, long sellerId, double similarity) {
+            this.propertyId = propertyId;
+            this.sellerId = sellerId;
+            this.similarity = similarity;
+        }
+        
+        public long getPropertyId() { return propertyId; }
+        public long getSellerId() { return sellerId; }
+        public double getSimilarity() { return similarity; }
+    }
+    
+    private static final class Entry {
+        private final long sellerId;
+        private final int[] signature;
+        private final long[] bandKeys;
+        
+        Entry(long sellerId, int[] signature) {
+            this.sellerId = sellerId;
+            this.signature = signature;
+            this.bandKeys = bandKeys(signature);
+        }
+    }
+    
+    /**
+     * Multimap from band key to listing IDs: an open-addressing table of keys
+     * pointing at singly linked chains of entries held in parallel arrays.
+     */
+    private static final class BandTable {
+        private long[] keys = new long[16];
+        private int[] heads = filled(16);
+        private int keyCount;
+        
+        private long[] entryIds = new long[16];
+        private int[] entryNext = new int[16];
+        private int entryCount;
+        private int freeEntry = -1;
+        
+        void clear() {
+            keys = new long[16];
+            heads = filled(16);
+            keyCount = 0;
+            entryIds = new long[16];
+            entryNext = new int[16];
+            entryCount = 0;
+            freeEntry = -1;
+        }
+        
+        // First entry of the key's chain, or -1
+        int head(long key) {
+            int slot = slotOf(key);
+            return heads[slot];
+        }
+        
+        long id(int entry) { return entryIds[entry]; }
+        int next(int entry) { return entryNext[entry]; }
+        int capacity() { return keys.length; }
+        long keyAt(int slot) { return keys[slot]; }
+        int headAt(int slot) { return heads[slot]; }
+        
+        void add(long key, long id) {
+            if ((keyCount + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            int entry = newEntry(id);
+            int slot = slotOf(key);
+            if (heads[slot] < 0) {
+                keys[slot] = key;
+                keyCount++;
+            }
+            entryNext[entry] = heads[slot];
+            heads[slot] = entry;
+        }
+        
+        void remove(long key, long id) {
+            int slot = slotOf(key);
+            int previous = -1;
+            for (int entry = heads[slot]; entry >= 0; previous = entry, entry = entryNext[entry]) {
+                if (entryIds[entry] != id) {
+                    continue;
+                }
+                if (previous < 0) {
+                    heads[slot] = entryNext[entry];
+                } else {
+                    entryNext[previous] = entryNext[entry];
+                }
+                entryNext[entry] = freeEntry;
+                freeEntry = entry;
+                if (heads[slot] < 0) {
+                    deleteSlot(slot);
+                }
+                return;
+            }
+        }
+        
+        // Linear probing; lands on the key's slot or the empty slot where it would go
+        private int slotOf(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (heads[slot] >= 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+        
+        private int newEntry(long id) {
+            int entry;
+            if (freeEntry >= 0) {
+                entry = freeEntry;
+                freeEntry = entryNext[entry];
+            } else {
+                if (entryCount == entryIds.length) {
+                    entryIds = Arrays.copyOf(entryIds, entryCount * 2);
+                    entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+                }
+                entry = entryCount++;
+            }
+            entryIds[entry] = id;
+            return entry;
+        }
+        
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        private void deleteSlot(int slot) {
+            int mask = keys.length - 1;
+            keyCount--;
+            int hole = slot;
+            int probe = (slot + 1) & mask;
+            while (heads[probe] >= 0) {
+                int home = (int) mix(keys[probe]) & mask;
+                // Move the probed key into the hole unless its home lies cyclically in (hole, probe]
+                boolean stays = hole <= probe ? (home > hole && home <= probe) : (home > hole || home <= probe);
+                if (!stays) {
+                    keys[hole] = keys[probe];
+                    heads[hole] = heads[probe];
+                    hole = probe;
+                }
+                probe = (probe + 1) & mask;
+            }
+            heads[hole] = -1;
+        }
+        
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldHeads = heads;
+            keys = new long[capacity];
+            heads = filled(capacity);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldHeads[i] >= 0) {
+                    int slot = slotOf(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    heads[slot] = oldHeads[i];
+                }
+            }
+        }
+        
+        private static int[] filled(int capacity) {
+            int[] heads = new int[capacity];
+            Arrays.fill(heads, -1);
+            return heads;
+        }
+    }
+    
+    @Override
+    public void rebuild(List<Property> activeProperties) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            buckets.clear();
+            for (Property property : activeProperties) {
+                addLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void propertySaved(Property property, boolean created) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(property.getPropertyId());
+            if (Boolean.TRUE.equals(property.getIsActive())) {
+                addLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void propertyRemoved(Property property) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(property.getPropertyId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Active listings that look like the same property as the given one (which
+     * need not be saved yet), most similar first.
+     */
+    public List<Match> findDuplicates(Property property) {
+        int[] signature = signature(property);
+        long[] keys = bandKeys(signature);
+        long selfId = property.getPropertyId() == null ? Long.MIN_VALUE : property.getPropertyId();
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Long> checked = new HashSet<>();
+            for (long key : keys) {
+                int checks = 0;
+                for (int e = buckets.head(key); e >= 0 && checks++ < MAX_BUCKET_CHECKS; e = buckets.next(e)) {
+                    long id = buckets.id(e);
+                    if (id == selfId || !checked.add(id)) {
+                        continue;
+                    }
+                    Entry entry = entries.get(id);
+                    double similarity = similarity(signature, entry.signature);
+                    if (similarity >= similarityThreshold) {
+                        matches.add(new Match(id, entry.sellerId, similarity));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingDouble(Match::getSimilarity).reversed());
+        return matches;
+    }
+    
+    /**
+     * Listings accepted for insertion together but not committed yet, so not
+     * in the index; lets a bulk import catch duplicates among its own rows.
+     * Not thread-safe; one per import.
+     */
+    public final class PendingListings {
+        private final List<int[]> signatures = new ArrayList<>();
+        private final List<Integer> tags = new ArrayList<>();
+        
+        private PendingListings() {}
+        
+        /**
+         * Tag of a pending listing the given one near-duplicates, or null after
+         * adding the listing under {@code tag}.
+         */
+        public Integer addIfUnique(Property property, int tag) {
+            int[] signature = signature(property);
+            for (int i = 0; i < signatures.size(); i++) {
+                if (similarity(signature, signatures.get(i)) >= similarityThreshold) {
+                    return tags.get(i);
+                }
+            }
+            signatures.add(signature);
+            tags.add(tag);
+            return null;
+        }
+        
+        // Call once the pending listings are committed (and so indexed) or abandoned
+        public void clear() {
+            signatures.clear();
+            tags.clear();
+        }
+    }
+    
+    public PendingListings newPendingListings() {
+        return new PendingListings();
+    }
+    
+    /**
+     * Groups the whole catalogue into clusters of near-duplicates, largest
+     * first. Candidate pairs are found and verified in parallel; pairs are then
+     * joined transitively, so a cluster may contain listings that are only
+     * similar through a third one. Crowded band buckets are only partly
+     * compared; the report counts the candidate pairs that were skipped.
+     */
+    public DuplicateReport findClusters() {
+        long[] ids;
+        Entry[] snapshot;
+        Map<Long, Integer> positions;
+        List<Long> bucketKeys;
+        List<long[]> bucketMembers;
+        lock.readLock().lock();
+        try {
+            ids = new long[entries.size()];
+            snapshot = new Entry[ids.length];
+            positions = new HashMap<>(ids.length * 2);
+            int n = 0;
+            for (Map.Entry<Long, Entry> e : entries.entrySet()) {
+                ids[n] = e.getKey();
+                snapshot[n] = e.getValue();
+                positions.put(e.getKey(), n++);
+            }
+            bucketKeys = new ArrayList<>();
+            bucketMembers = new ArrayList<>();
+            for (int slot = 0; slot < buckets.capacity(); slot++) {
+                int head = buckets.headAt(slot);
+                if (head < 0 || buckets.next(head) < 0) {
+                    continue;
+                }
+                List<Long> members = new ArrayList<>();
+                for (int e = head; e >= 0; e = buckets.next(e)) {
+                    members.add(buckets.id(e));
+                }
+                bucketKeys.add(buckets.keyAt(slot));
+                bucketMembers.add(members.stream().mapToLong(Long::longValue).toArray());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        // Buckets are verified in parallel; a pair is only verified in the bucket of the first band it shares.
+        // Each member is compared with at most MAX_BUCKET_CHECKS others, so the work and the edge list stay
+        // linear in bucket size. Crowded buckets are ordered by signature first, which puts listings that
+        // agree beyond the shared band next to each other.
+        LongAdder uncheckedPairs = new LongAdder();
+        List<double[]> edges = IntStream.range(0, bucketMembers.size()).parallel()
+                .mapToObj(b -> {
+                    long bucketKey = bucketKeys.get(b);
+                    Integer[] members = Arrays.stream(bucketMembers.get(b)).mapToObj(positions::get).toArray(Integer[]::new);
+                    if (members.length > MAX_BUCKET_CHECKS + 1) {
+                        Arrays.sort(members, (i, j) -> Arrays.compare(snapshot[i].signature, snapshot[j].signature));
+                        long pairs = (long) members.length * (members.length - 1) / 2;
+                        long checked = (long) (members.length - MAX_BUCKET_CHECKS) * MAX_BUCKET_CHECKS
+                                + (long) MAX_BUCKET_CHECKS * (MAX_BUCKET_CHECKS - 1) / 2;
+                        uncheckedPairs.add(pairs - checked);
+                    }
+                    List<double[]> found = new ArrayList<>();
+                    for (int x = 0; x < members.length; x++) {
+                        int i = members[x];
+                        for (int y = x + 1; y < members.length && y <= x + MAX_BUCKET_CHECKS; y++) {
+                            int j = members[y];
+                            if (firstSharedBandKey(snapshot[i], snapshot[j]) != bucketKey) {
+                                continue;
+                            }
+                            double similarity = similarity(snapshot[i].signature, snapshot[j].signature);
+                            if (similarity >= similarityThreshold) {
+                                found.add(new double[] {i, j, similarity});
+                            }
+                        }
+                    }
+                    return found;
+                })
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        
+        int[] parent = new int[ids.length];
+        double[] minSimilarity = new double[ids.length];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+            minSimilarity[i] = 1.0;
+        }
+        for (double[] edge : edges) {
+            int a = find(parent, (int) edge[0]);
+            int b = find(parent, (int) edge[1]);
+            double similarity = Math.min(edge[2], Math.min(minSimilarity[a], minSimilarity[b]));
+            if (a != b) {
+                parent[b] = a;
+            }
+            minSimilarity[a] = similarity;
+        }
+        
+        Map<Integer, List<Integer>> groups = new HashMap<>();
+        for (double[] edge : edges) {
+            for (int k = 0; k < 2; k++) {
+                int member = (int) edge[k];
+                groups.computeIfAbsent(find(parent, member), r -> new ArrayList<>()).add(member);
+            }
+        }
+        List<DuplicateCluster> clusters = new ArrayList<>(groups.size());
+        for (Map.Entry<Integer, List<Integer>> group : groups.entrySet()) {
+            TreeSet<Long> propertyIds = new TreeSet<>();
+            TreeSet<Long> sellerIds = new TreeSet<>();
+            for (int member : group.getValue()) {
+                propertyIds.add(ids[member]);
+                sellerIds.add(snapshot[member].sellerId);
+            }
+            clusters.add(new DuplicateCluster(new ArrayList<>(propertyIds), new ArrayList<>(sellerIds),
+                    minSimilarity[group.getKey()]));
+        }
+        clusters.sort(Comparator.comparingInt((DuplicateCluster c) -> c.getPropertyIds().size()).reversed()
+                .thenComparing(c -> c.getPropertyIds().get(0)));
+        return new DuplicateReport(clusters, uncheckedPairs.sum());
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void addLocked(Property property) {
+        Long propertyId = property.getPropertyId();
+        long sellerId = property.getSeller() == null || property.getSeller().getUserId() == null
+                ? -1L : property.getSeller().getUserId();
+        Entry entry = new Entry(sellerId, signature(property));
+        entries.put(propertyId, entry);
+        for (long key : entry.bandKeys) {
+            buckets.add(key, propertyId);
+        }
+    }
+    
+    private void removeLocked(Long propertyId) {
+        Entry entry = entries.remove(propertyId);
+        if (entry == null) {
+            return;
+        }
+        for (long key : entry.bandKeys) {
+            buckets.remove(key, propertyId);
+        }
+    }
+    
+    private static long firstSharedBandKey(Entry a, Entry b) {
+        for (int band = 0; band < BANDS; band++) {
+            if (a.bandKeys[band] == b.bandKeys[band]) {
+                return a.bandKeys[band];
+            }
+        }
+        return 0L;
+    }
+    
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+    
+    private static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / NUM_HASHES;
+    }
+    
+    private static int[] signature(Property property) {
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        addWords(signature, property.getTitle());
+        addWords(signature, property.getAddress());
+        if (property.getPincode() != null) {
+            addFeature(signature, "pin:" + property.getPincode().replaceAll("\\s+", ""));
+        }
+        if (property.getPropertyType() != null) {
+            addFeature(signature, "type:" + property.getPropertyType().name());
+        }
+        addAmount(signature, "price:", property.getPrice());
+        addAmount(signature, "size:", property.getPropertySize());
+        return signature;
+    }
+    
+    // Case-folded alphanumeric words; punctuation and spacing differences do not matter
+    private static void addWords(int[] signature, String text) {
+        if (text == null) {
+            return;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!word.isEmpty()) {
+                addFeature(signature, word);
+            }
+        }
+    }
+    
+    private static void addAmount(int[] signature, String prefix, BigDecimal amount) {
+        if (amount != null && amount.signum() > 0) {
+            addFeature(signature, prefix + Math.round(Math.log(amount.doubleValue()) / AMOUNT_STEP));
+        }
+    }
+    
+    private static void addFeature(int[] signature, String feature) {
+        long hash = fnv1a(feature);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            int value = (int) (mix(hash ^ SEEDS[i]) >>> 33);
+            if (value < signature[i]) {
+                signature[i] = value;
+            }
+        }
+    }
+    
+    private static long[] bandKeys(int[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS_PER_BAND; row++) {
+                key = mix(key * 31 + signature[band * ROWS_PER_BAND + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+    
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+    
+    // SplitMix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,43 @@
+package com.propertyapp.index;
+
+import com.propertyapp.dto.RankingQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Favours recently listed properties: the score halves every
+ * {@code half-life-days} since the listing was created.
+ */
+@Component
+public class FreshnessSignal implements RankingSignal {
+    
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
+    
+    @Value("${property.ranking.weights.freshness:1.0}")
+    private double weight;
+    
+    @Value("${property.ranking.freshness-half-life-days:30}")
+    private double halfLifeDays;
+    
+    @Override
+    public String name() {
+        return "freshness";
+    }
+    
+    @Override
+    public double weight() {
+        return weight;
+    }
+    
+    @Override
+    public Scorer prepare(RankingQuery query, long nowMillis) {
+        double decayPerMilli = Math.log(2) / (halfLifeDays * MILLIS_PER_DAY);
+        return listing -> {
+            if (listing.createdAtMillis() <= 0) {
+                return 0.0;
+            }
+            long age = Math.max(0L, nowMillis - listing.createdAtMillis());
+            return Math.exp(-age * decayPerMilli);
+        };
+    }
+}
@@ -0,0 +1,287 @@
+package com.propertyapp.index;
+
+import com.propertyapp.model.Property;
+import com.propertyapp.service.PropertyChangeListener;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fixed-resolution lat/long grid over active listings that have coordinates.
+ * Radius queries only visit the cells overlapping the query's bounding box and
+ * then refine candidates with the exact haversine distance.
+ */
+@Component
+public class GeoGridIndex implements PropertyChangeListener {
+    
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+    
+    // 0.05 degrees is roughly 5.5 km of latitude, a good fit for city-scale radius queries
+    private static final double CELL_DEGREES = 0.05;
+    private static final int COLUMNS = (int) Math.ceil(360 / CELL_DEGREES);
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, List<GeoPoint>> cells = new HashMap<>();
+    private final Map<Long, GeoPoint> pointsById = new HashMap<>();
+    
+    public static final class GeoPoint {
+        private final long propertyId;
+        private final double latitude;
+        private final double longitude;
+        // Sort keys for area searches, so ordering a result never needs the database
+        private final double price;
+        private final double size;
+        private final long createdAt;
+        
+        GeoPoint(long propertyId, double latitude, double longitude, double price, double size, long createdAt) {
+            this.propertyId = propertyId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.price = price;
+            this.size = size;
+            this.createdAt = createdAt;
+        }
+        
+        public long getPropertyId() { return propertyId; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public double getPrice() { return price; }
+        public double getSize() { return size; }
+        public long getCreatedAt() { return createdAt; }
+    }
+    
+    public static final class GeoMatch {
+        private final long propertyId;
+        private final double distanceKm;
+        
+        GeoMatch(long propertyId, double distanceKm) {
+            this.propertyId = propertyId;
+            this.distanceKm = distanceKm;
+        }
+        
+        public long getPropertyId() { return propertyId; }
+        public double getDistanceKm() { return distanceKm; }
+    }
+    
+    @Override
+    public void rebuild(List<Property> activeProperties) {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            pointsById.clear();
+            for (Property property : activeProperties) {
+                addLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void propertySaved(Property property, boolean created) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(property.getPropertyId());
+            if (Boolean.TRUE.equals(property.getIsActive())) {
+                addLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void propertyRemoved(Property property) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(property.getPropertyId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns listings within {@code radiusKm} of the given point, nearest first.
+     */
+    public List<GeoMatch> findWithinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        double latitudeDelta = radiusKm / KM_PER_DEGREE_LATITUDE;
+        double cosLatitude = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double longitudeDelta = Math.min(radiusKm / (KM_PER_DEGREE_LATITUDE * cosLatitude), 180.0);
+        
+        List<GeoMatch> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (GeoPoint point : candidatesInBox(latitude - latitudeDelta, latitude + latitudeDelta,
+                    longitude - longitudeDelta, longitude + longitudeDelta)) {
+                double distance = haversineKm(latitude, longitude, point.latitude, point.longitude);
+                if (distance <= radiusKm) {
+                    matches.add(new GeoMatch(point.propertyId, distance));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        matches.sort((a, b) -> Double.compare(a.distanceKm, b.distanceKm));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+    
+    /**
+     * Returns listings inside the polygon given by its vertices (implicitly
+     * closed). Grid cells overlapping the polygon's bounding box supply the
+     * candidates; the even-odd ray-casting test then runs edge by edge over
+     * primitive coordinate arrays, a tight loop the JIT can vectorise.
+     */
+    public List<GeoPoint> findInPolygon(double[] latitudes, double[] longitudes) {
+        double minLatitude = Double.POSITIVE_INFINITY;
+        double maxLatitude = Double.NEGATIVE_INFINITY;
+        double minLongitude = Double.POSITIVE_INFINITY;
+        double maxLongitude = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < latitudes.length; i++) {
+            minLatitude = Math.min(minLatitude, latitudes[i]);
+            maxLatitude = Math.max(maxLatitude, latitudes[i]);
+            minLongitude = Math.min(minLongitude, longitudes[i]);
+            maxLongitude = Math.max(maxLongitude, longitudes[i]);
+        }
+        
+        List<GeoPoint> candidates = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (GeoPoint point : candidatesInBox(minLatitude, maxLatitude, minLongitude, maxLongitude)) {
+                if (point.latitude >= minLatitude && point.latitude <= maxLatitude
+                        && point.longitude >= minLongitude && point.longitude <= maxLongitude) {
+                    candidates.add(point);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        int n = candidates.size();
+        double[] pointLatitudes = new double[n];
+        double[] pointLongitudes = new double[n];
+        for (int k = 0; k < n; k++) {
+            pointLatitudes[k] = candidates.get(k).latitude;
+            pointLongitudes[k] = candidates.get(k).longitude;
+        }
+        
+        boolean[] inside = new boolean[n];
+        for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+            double yi = latitudes[i];
+            double yj = latitudes[j];
+            if (yi == yj) {
+                // A horizontal edge never crosses the horizontal test ray
+                continue;
+            }
+            double xi = longitudes[i];
+            double slope = (longitudes[j] - xi) / (yj - yi);
+            for (int k = 0; k < n; k++) {
+                double y = pointLatitudes[k];
+                inside[k] ^= ((yi > y) != (yj > y)) & (pointLongitudes[k] < xi + (y - yi) * slope);
+            }
+        }
+        
+        List<GeoPoint> matches = new ArrayList<>();
+        for (int k = 0; k < n; k++) {
+            if (inside[k]) {
+                matches.add(candidates.get(k));
+            }
+        }
+        return matches;
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return pointsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+    
+    // Must be called with the read or write lock held
+    private Collection<GeoPoint> candidatesInBox(double minLatitude, double maxLatitude,
+                                                 double minLongitude, double maxLongitude) {
+        int minRow = row(Math.max(minLatitude, -90.0));
+        int maxRow = row(Math.min(maxLatitude, 90.0));
+        int minColumn = column(Math.max(minLongitude, -180.0));
+        int maxColumn = column(Math.min(maxLongitude, 180.0));
+        
+        long cellsInBox = (long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1);
+        List<GeoPoint> candidates = new ArrayList<>();
+        if (cellsInBox > cells.size()) {
+            // A very large box touches more grid cells than are populated; walk the populated ones instead
+            for (List<GeoPoint> cell : cells.values()) {
+                candidates.addAll(cell);
+            }
+            return candidates;
+        }
+        
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                List<GeoPoint> cell = cells.get(cellKey(r, c));
+                if (cell != null) {
+                    candidates.addAll(cell);
+                }
+            }
+        }
+        return candidates;
+    }
+    
+    private void addLocked(Property property) {
+        if (property.getLatitude() == null || property.getLongitude() == null) {
+            return;
+        }
+        GeoPoint point = new GeoPoint(property.getPropertyId(),
+                property.getLatitude().doubleValue(), property.getLongitude().doubleValue(),
+                property.getPrice() == null ? 0 : property.getPrice().doubleValue(),
+                property.getPropertySize() == null ? Double.NaN : property.getPropertySize().doubleValue(),
+                property.getCreatedAt() == null ? 0 : property.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        pointsById.put(point.propertyId, point);
+        cells.computeIfAbsent(cellKey(row(point.latitude), column(point.longitude)), key -> new ArrayList<>())
+                .add(point);
+    }
+    
+    private void removeLocked(Long propertyId) {
+        GeoPoint point = pointsById.remove(propertyId);
+        if (point == null) {
+            return;
+        }
+        long key = cellKey(row(point.latitude), column(point.longitude));
+        List<GeoPoint> cell = cells.get(key);
+        if (cell != null) {
+            cell.removeIf(candidate -> candidate.propertyId == point.propertyId);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+    
+    private static int row(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / CELL_DEGREES);
+    }
+    
+    private static int column(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / CELL_DEGREES);
+    }
+    
+    private static long cellKey(int row, int column) {
+        return (long) row * COLUMNS + column;
+    }
+}
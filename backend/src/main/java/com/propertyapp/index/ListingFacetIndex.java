@@ -0,0 +1,310 @@
+package com.propertyapp.index;
+
+import com.propertyapp.dto.FacetCounts;
+import com.propertyapp.dto.PropertySearchCriteria;
+import com.propertyapp.model.Property;
+import com.propertyapp.model.PropertyType;
+import com.propertyapp.service.PropertyChangeListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Facet counts for the listing filter chips. Counts over the whole active
+ * catalogue are maintained incrementally on every write; when the caller
+ * supplies filters the counts are computed from a scan of the columnar
+ * {@link ListingSnapshot}, narrowed by price when a price range is given.
+ */
+@Component
+public class ListingFacetIndex implements PropertyChangeListener {
+    
+    @Autowired
+    private ListingSnapshotIndex listingSnapshotIndex;
+    
+    private final long[] priceBoundsPaise;
+    private final float[] sizeBounds;
+    private final BigDecimal[] priceBounds;
+    private final BigDecimal[] sizeBoundValues;
+    private final int maxValuesPerFacet;
+    
+    // Incremental state, guarded by "this"
+    private final Map<Long, FacetEntry> entries = new HashMap<>();
+    private final long[] typeCounts = new long[PropertyType.values().length];
+    private final Map<String, ValueCount> cityCounts = new HashMap<>();
+    private final Map<String, ValueCount> stateCounts = new HashMap<>();
+    private final long[] priceBucketCounts;
+    private final long[] sizeBucketCounts;
+    
+    private static final class FacetEntry {
+        private final int type;
+        private final String city;
+        private final String state;
+        private final int priceBucket;
+        private final int sizeBucket;
+        
+        FacetEntry(int type, String city, String state, int priceBucket, int sizeBucket) {
+            this.type = type;
+            this.city = city;
+            this.state = state;
+            this.priceBucket = priceBucket;
+            this.sizeBucket = sizeBucket;
+        }
+    }
+    
+    private static final class ValueCount {
+        private final String display;
+        private long count;
+        
+        ValueCount(String display) {
+            this.display = display;
+        }
+    }
+    
+    public ListingFacetIndex(@Value("${property.facets.price-buckets:1000000,2500000,5000000,10000000,25000000,50000000}") BigDecimal[] priceBuckets,
+                             @Value("${property.facets.size-buckets:500,1000,1500,2500,5000,10000}") BigDecimal[] sizeBuckets,
+                             @Value("${property.facets.max-values:50}") int maxValuesPerFacet) {
+        this.priceBounds = priceBuckets.clone();
+        this.sizeBoundValues = sizeBuckets.clone();
+        Arrays.sort(this.priceBounds);
+        Arrays.sort(this.sizeBoundValues);
+        
+        this.priceBoundsPaise = new long[priceBounds.length];
+        for (int i = 0; i < priceBounds.length; i++) {
+            priceBoundsPaise[i] = ListingSnapshotIndex.toPaise(priceBounds[i]);
+        }
+        this.sizeBounds = new float[sizeBoundValues.length];
+        for (int i = 0; i < sizeBoundValues.length; i++) {
+            sizeBounds[i] = sizeBoundValues[i].floatValue();
+        }
+        
+        this.maxValuesPerFacet = maxValuesPerFacet;
+        this.priceBucketCounts = new long[priceBounds.length + 1];
+        this.sizeBucketCounts = new long[sizeBoundValues.length + 1];
+    }
+    
+    @Override
+    public synchronized void rebuild(List<Property> activeProperties) {
+        entries.clear();
+        Arrays.fill(typeCounts, 0);
+        cityCounts.clear();
+        stateCounts.clear();
+        Arrays.fill(priceBucketCounts, 0);
+        Arrays.fill(sizeBucketCounts, 0);
+        for (Property property : activeProperties) {
+            add(property);
+        }
+    }
+    
+    @Override
+    public synchronized void propertySaved(Property property, boolean created) {
+        remove(property.getPropertyId());
+        if (Boolean.TRUE.equals(property.getIsActive())) {
+            add(property);
+        }
+    }
+    
+    @Override
+    public synchronized void propertyRemoved(Property property) {
+        remove(property.getPropertyId());
+    }
+    
+    public FacetCounts facets(PropertySearchCriteria criteria) {
+        if (criteria.getPincode() != null && !criteria.getPincode().isBlank()) {
+            throw new IllegalArgumentException("Facets cannot be filtered by pincode");
+        }
+        if (!hasFilters(criteria)) {
+            return catalogueFacets();
+        }
+        return filteredFacets(criteria);
+    }
+    
+    private synchronized FacetCounts catalogueFacets() {
+        FacetCounts facets = new FacetCounts();
+        facets.setTotal(entries.size());
+        facets.setPropertyTypes(typeMap(typeCounts));
+        facets.setCities(topValues(cityCounts));
+        facets.setStates(topValues(stateCounts));
+        facets.setPriceBuckets(buckets(priceBounds, priceBucketCounts));
+        facets.setSizeBuckets(buckets(sizeBoundValues, sizeBucketCounts));
+        return facets;
+    }
+    
+    private FacetCounts filteredFacets(PropertySearchCriteria criteria) {
+        ListingSnapshot snapshot = listingSnapshotIndex.snapshot();
+        
+        int cityId = -1;
+        int stateId = -1;
+        boolean unknownValue = false;
+        if (hasText(criteria.getCity())) {
+            cityId = listingSnapshotIndex.cityId(criteria.getCity());
+            unknownValue = cityId < 0;
+        }
+        if (hasText(criteria.getState())) {
+            stateId = listingSnapshotIndex.stateId(criteria.getState());
+            unknownValue |= stateId < 0;
+        }
+        
+        long[] types = new long[PropertyType.values().length];
+        Map<Integer, Long> cities = new HashMap<>();
+        Map<Integer, Long> states = new HashMap<>();
+        long[] prices = new long[priceBucketCounts.length];
+        long[] sizes = new long[sizeBucketCounts.length];
+        long total = 0;
+        
+        if (!unknownValue) {
+            long minPrice = criteria.getMinPrice() == null ? Long.MIN_VALUE : ListingSnapshotIndex.boundToPaise(criteria.getMinPrice());
+            long maxPrice = criteria.getMaxPrice() == null ? Long.MAX_VALUE : ListingSnapshotIndex.boundToPaise(criteria.getMaxPrice());
+            float minSize = criteria.getMinSize() == null ? ListingSnapshot.NO_SIZE : criteria.getMinSize().floatValue();
+            float maxSize = criteria.getMaxSize() == null ? ListingSnapshot.NO_SIZE : criteria.getMaxSize().floatValue();
+            int type = criteria.getPropertyType() == null ? -1 : criteria.getPropertyType().ordinal();
+            
+            for (int row = snapshot.lowerBound(minPrice);
+                 row < snapshot.rowCount() && snapshot.pricePaiseAt(row) <= maxPrice; row++) {
+                if (!snapshot.matches(row, minSize, maxSize, type, cityId, stateId)) {
+                    continue;
+                }
+                total++;
+                if (snapshot.typeAt(row) >= 0) {
+                    types[snapshot.typeAt(row)]++;
+                }
+                cities.merge(snapshot.cityIdAt(row), 1L, Long::sum);
+                states.merge(snapshot.stateIdAt(row), 1L, Long::sum);
+                prices[bucketOf(priceBoundsPaise, snapshot.pricePaiseAt(row))]++;
+                if (!Float.isNaN(snapshot.sizeAt(row))) {
+                    sizes[bucketOf(sizeBounds, snapshot.sizeAt(row))]++;
+                }
+            }
+        }
+        
+        Map<String, ValueCount> cityValues = new HashMap<>();
+        cities.forEach((id, count) -> addDecoded(cityValues, snapshot.cityName(id), count));
+        Map<String, ValueCount> stateValues = new HashMap<>();
+        states.forEach((id, count) -> addDecoded(stateValues, snapshot.stateName(id), count));
+        
+        FacetCounts facets = new FacetCounts();
+        facets.setTotal(total);
+        facets.setPropertyTypes(typeMap(types));
+        facets.setCities(topValues(cityValues));
+        facets.setStates(topValues(stateValues));
+        facets.setPriceBuckets(buckets(priceBounds, prices));
+        facets.setSizeBuckets(buckets(sizeBoundValues, sizes));
+        return facets;
+    }
+    
+    private void add(Property property) {
+        if (property.getPrice() == null) {
+            return;
+        }
+        int type = property.getPropertyType() == null ? -1 : property.getPropertyType().ordinal();
+        int priceBucket = bucketOf(priceBoundsPaise, ListingSnapshotIndex.toPaise(property.getPrice()));
+        int sizeBucket = property.getPropertySize() == null ? -1
+                : bucketOf(sizeBounds, property.getPropertySize().floatValue());
+        FacetEntry entry = new FacetEntry(type, property.getCity(), property.getState(), priceBucket, sizeBucket);
+        
+        entries.put(property.getPropertyId(), entry);
+        if (type >= 0) {
+            typeCounts[type]++;
+        }
+        adjust(cityCounts, entry.city, 1);
+        adjust(stateCounts, entry.state, 1);
+        priceBucketCounts[priceBucket]++;
+        if (sizeBucket >= 0) {
+            sizeBucketCounts[sizeBucket]++;
+        }
+    }
+    
+    private void remove(Long propertyId) {
+        FacetEntry entry = entries.remove(propertyId);
+        if (entry == null) {
+            return;
+        }
+        if (entry.type >= 0) {
+            typeCounts[entry.type]--;
+        }
+        adjust(cityCounts, entry.city, -1);
+        adjust(stateCounts, entry.state, -1);
+        priceBucketCounts[entry.priceBucket]--;
+        if (entry.sizeBucket >= 0) {
+            sizeBucketCounts[entry.sizeBucket]--;
+        }
+    }
+    
+    private static void adjust(Map<String, ValueCount> counts, String value, int delta) {
+        if (value == null) {
+            return;
+        }
+        String key = value.trim().toLowerCase(Locale.ROOT);
+        ValueCount count = counts.computeIfAbsent(key, k -> new ValueCount(value.trim()));
+        count.count += delta;
+        if (count.count <= 0) {
+            counts.remove(key);
+        }
+    }
+    
+    private static void addDecoded(Map<String, ValueCount> counts, String value, long count) {
+        if (value != null) {
+            counts.computeIfAbsent(value.toLowerCase(Locale.ROOT), k -> new ValueCount(value)).count += count;
+        }
+    }
+    
+    private Map<String, Long> topValues(Map<String, ValueCount> counts) {
+        List<ValueCount> values = new ArrayList<>(counts.values());
+        values.sort((a, b) -> {
+            int byCount = Long.compare(b.count, a.count);
+            return byCount != 0 ? byCount : a.display.compareToIgnoreCase(b.display);
+        });
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(maxValuesPerFacet, values.size()); i++) {
+            top.put(values.get(i).display, values.get(i).count);
+        }
+        return top;
+    }
+    
+    private static Map<String, Long> typeMap(long[] counts) {
+        Map<String, Long> types = new LinkedHashMap<>();
+        for (PropertyType type : PropertyType.values()) {
+            types.put(type.name(), counts[type.ordinal()]);
+        }
+        return types;
+    }
+    
+    private static List<FacetCounts.BucketCount> buckets(BigDecimal[] bounds, long[] counts) {
+        List<FacetCounts.BucketCount> buckets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            BigDecimal from = i == 0 ? null : bounds[i - 1];
+            BigDecimal to = i == bounds.length ? null : bounds[i];
+            buckets.add(new FacetCounts.BucketCount(from, to, counts[i]));
+        }
+        return buckets;
+    }
+    
+    // Bucket i holds values in [bounds[i - 1], bounds[i])
+    private static int bucketOf(long[] bounds, long value) {
+        int index = Arrays.binarySearch(bounds, value);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+    
+    private static int bucketOf(float[] bounds, float value) {
+        int index = Arrays.binarySearch(bounds, value);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+    
+    private static boolean hasFilters(PropertySearchCriteria criteria) {
+        return criteria.getPropertyType() != null || hasText(criteria.getCity()) || hasText(criteria.getState())
+                || criteria.getMinPrice() != null || criteria.getMaxPrice() != null
+                || criteria.getMinSize() != null || criteria.getMaxSize() != null;
+    }
+    
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,53 @@
+package com.propertyapp.index;
+
+/**
+ * Read-only view of one candidate's ranking features. A single instance is
+ * moved along the feature arrays while a query is scored, so scoring
+ * allocates nothing per candidate. Missing coordinates and prices are NaN.
+ */
+public final class ListingFeatures {
+    
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    
+    private long propertyId;
+    private long createdAtMillis;
+    private double latitude;
+    private double longitude;
+    private double price;
+    private int inquiryCount;
+    private double textScore;
+    
+    void set(long propertyId, long createdAtMillis, double latitude, double longitude, double price,
+             int inquiryCount, double textScore) {
+        this.propertyId = propertyId;
+        this.createdAtMillis = createdAtMillis;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.price = price;
+        this.inquiryCount = inquiryCount;
+        this.textScore = textScore;
+    }
+    
+    public long propertyId() { return propertyId; }
+    public long createdAtMillis() { return createdAtMillis; }
+    public double latitude() { return latitude; }
+    public double longitude() { return longitude; }
+    public double price() { return price; }
+    public int inquiryCount() { return inquiryCount; }
+    // Text relevance normalised to [0, 1] against the best match; 0 when the query has no text
+    public double textScore() { return textScore; }
+    
+    /** Great-circle distance to a point, or NaN when the listing has no coordinates. */
+    public double distanceKmTo(double lat, double lon) {
+        return distanceKm(latitude, longitude, lat, lon);
+    }
+    
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
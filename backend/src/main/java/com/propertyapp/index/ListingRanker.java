@@ -0,0 +1,398 @@
+package com.propertyapp.index;
+
+import com.propertyapp.dto.RankingQuery;
+import com.propertyapp.model.Property;
+import com.propertyapp.repository.InquiryRepository;
+import com.propertyapp.service.PropertyChangeListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "Best match" ranking. Ranking features of every active listing are kept in
+ * primitive arrays (one row per listing, swap-removed on deactivation) so a
+ * query scores candidates straight off the arrays. Every {@link RankingSignal}
+ * bean contributes a weighted score and only the best {@code k} candidates are
+ * kept in a bounded heap; the candidate set is never sorted or materialised.
+ */
+@Component
+public class ListingRanker implements PropertyChangeListener {
+    
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+    
+    @Autowired
+    private List<RankingSignal> signals;
+    
+    @Autowired
+    private PropertyTextIndex textIndex;
+    
+    @Autowired
+    private InquiryRepository inquiryRepository;
+    
+    // With text, only this many of the best text matches that pass the filters are considered for ranking
+    @Value("${property.ranking.text-candidates:2000}")
+    private int textCandidates;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> rows = new HashMap<>();
+    // City names are interned to small codes so the city filter is an int compare
+    private final Map<String, Integer> cityCodes = new HashMap<>();
+    // Inquiry counts also cover listings that are currently inactive
+    private final Map<Long, Integer> inquiryCounts = new HashMap<>();
+    
+    private long[] ids = new long[16];
+    private long[] createdAt = new long[16];
+    private double[] latitude = new double[16];
+    private double[] longitude = new double[16];
+    private double[] price = new double[16];
+    private byte[] type = new byte[16];
+    private int[] city = new int[16];
+    private int[] inquiries = new int[16];
+    private int size;
+    
+    @Override
+    public void rebuild(List<Property> activeProperties) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : inquiryRepository.countInquiriesPerProperty()) {
+            counts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        lock.writeLock().lock();
+        try {
+            rows.clear();
+            cityCodes.clear();
+            inquiryCounts.clear();
+            inquiryCounts.putAll(counts);
+            size = 0;
+            for (Property property : activeProperties) {
+                addLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void propertySaved(Property property, boolean created) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(property.getPropertyId());
+            if (Boolean.TRUE.equals(property.getIsActive())) {
+                addLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void propertyRemoved(Property property) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(property.getPropertyId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Counts a new inquiry towards the listing's popularity once the creating
+     * transaction commits.
+     */
+    public void inquiryCreated(Long propertyId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                int count = inquiryCounts.merge(propertyId, 1, Integer::sum);
+                Integer row = rows.get(propertyId);
+                if (row != null) {
+                    inquiries[row] = count;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+    
+    /**
+     * IDs of the {@code k} best-scoring listings for the query, best first.
+     */
+    public long[] rank(RankingQuery query, int k) {
+        long now = System.currentTimeMillis();
+        List<RankingSignal.Scorer> scorers = new ArrayList<>();
+        List<Double> weightList = new ArrayList<>();
+        for (RankingSignal signal : signals) {
+            RankingSignal.Scorer scorer = signal.weight() > 0 ? signal.prepare(query, now) : null;
+            if (scorer != null) {
+                scorers.add(scorer);
+                weightList.add(signal.weight());
+            }
+        }
+        RankingSignal.Scorer[] scorerArray = scorers.toArray(new RankingSignal.Scorer[0]);
+        double[] weights = weightList.stream().mapToDouble(Double::doubleValue).toArray();
+        
+        lock.readLock().lock();
+        try {
+            Filter filter = filter(query);
+            if (filter == null) {
+                return new long[0];
+            }
+            TopK top = new TopK(k);
+            ListingFeatures features = new ListingFeatures();
+            if (query.getQ() != null && !query.getQ().isBlank()) {
+                // Filters apply before the candidate cut, so a narrow city or radius keeps its text matches
+                Map<Long, Float> textScores = textIndex.searchScores(query.getQ(), textCandidates, propertyId -> {
+                    Integer row = rows.get(propertyId);
+                    return row != null && filter.accepts(row);
+                });
+                if (textScores.isEmpty()) {
+                    return new long[0];
+                }
+                // searchScores returns the best match first
+                float bestTextScore = textScores.values().iterator().next();
+                for (Map.Entry<Long, Float> entry : textScores.entrySet()) {
+                    int row = rows.get(entry.getKey());
+                    double text = bestTextScore > 0 ? entry.getValue() / bestTextScore : 0.0;
+                    offer(row, text, features, scorerArray, weights, top);
+                }
+            } else {
+                for (int row = 0; row < size; row++) {
+                    if (filter.accepts(row)) {
+                        offer(row, 0.0, features, scorerArray, weights, top);
+                    }
+                }
+            }
+            return top.sortedIds();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void offer(int row, double textScore, ListingFeatures features, RankingSignal.Scorer[] scorers,
+                       double[] weights, TopK top) {
+        features.set(ids[row], createdAt[row], latitude[row], longitude[row], price[row], inquiries[row], textScore);
+        double score = 0.0;
+        for (int i = 0; i < scorers.length; i++) {
+            score += weights[i] * scorers[i].score(features);
+        }
+        top.offer(ids[row], score);
+    }
+    
+    // Returns null when a filter can match nothing (e.g. a city with no listings)
+    private Filter filter(RankingQuery query) {
+        Filter filter = new Filter();
+        filter.typeCode = query.getPropertyType() == null ? -1 : query.getPropertyType().ordinal();
+        if (query.getCity() != null && !query.getCity().isBlank()) {
+            Integer code = cityCodes.get(normalizeCity(query.getCity()));
+            if (code == null) {
+                return null;
+            }
+            filter.cityCode = code;
+        }
+        if (query.getRadiusKm() != null) {
+            if (query.getLatitude() == null || query.getLongitude() == null) {
+                throw new IllegalArgumentException("radiusKm requires latitude and longitude");
+            }
+            filter.radiusKm = query.getRadiusKm().doubleValue();
+            filter.lat = query.getLatitude().doubleValue();
+            filter.lon = query.getLongitude().doubleValue();
+            // Cheap box test first; only rows inside it pay for the exact distance
+            filter.latDelta = filter.radiusKm / KM_PER_DEGREE_LATITUDE;
+            double cosLatitude = Math.max(Math.cos(Math.toRadians(filter.lat)), 0.01);
+            filter.lonDelta = Math.min(filter.radiusKm / (KM_PER_DEGREE_LATITUDE * cosLatitude), 180.0);
+        }
+        return filter;
+    }
+    
+    private final class Filter {
+        private int typeCode = -1;
+        private int cityCode = -1;
+        private double radiusKm = Double.NaN;
+        private double lat;
+        private double lon;
+        private double latDelta;
+        private double lonDelta;
+        
+        boolean accepts(int row) {
+            if (typeCode >= 0 && type[row] != typeCode) {
+                return false;
+            }
+            if (cityCode >= 0 && city[row] != cityCode) {
+                return false;
+            }
+            if (!Double.isNaN(radiusKm)) {
+                double rowLat = latitude[row];
+                double rowLon = longitude[row];
+                if (Double.isNaN(rowLat) || Math.abs(rowLat - lat) > latDelta || Math.abs(rowLon - lon) > lonDelta) {
+                    return false;
+                }
+                return ListingFeatures.distanceKm(rowLat, rowLon, lat, lon) <= radiusKm;
+            }
+            return true;
+        }
+    }
+    
+    private void addLocked(Property property) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            latitude = Arrays.copyOf(latitude, capacity);
+            longitude = Arrays.copyOf(longitude, capacity);
+            price = Arrays.copyOf(price, capacity);
+            type = Arrays.copyOf(type, capacity);
+            city = Arrays.copyOf(city, capacity);
+            inquiries = Arrays.copyOf(inquiries, capacity);
+        }
+        int row = size++;
+        Long propertyId = property.getPropertyId();
+        ids[row] = propertyId;
+        createdAt[row] = property.getCreatedAt() == null ? 0L
+                : property.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        boolean located = property.getLatitude() != null && property.getLongitude() != null;
+        latitude[row] = located ? property.getLatitude().doubleValue() : Double.NaN;
+        longitude[row] = located ? property.getLongitude().doubleValue() : Double.NaN;
+        price[row] = property.getPrice() == null ? Double.NaN : property.getPrice().doubleValue();
+        type[row] = (byte) (property.getPropertyType() == null ? -1 : property.getPropertyType().ordinal());
+        city[row] = property.getCity() == null ? -1
+                : cityCodes.computeIfAbsent(normalizeCity(property.getCity()), c -> cityCodes.size());
+        inquiries[row] = inquiryCounts.getOrDefault(propertyId, 0);
+        rows.put(propertyId, row);
+    }
+    
+    private void removeLocked(Long propertyId) {
+        Integer row = rows.remove(propertyId);
+        if (row == null) {
+            return;
+        }
+        int last = --size;
+        if (row == last) {
+            return;
+        }
+        ids[row] = ids[last];
+        createdAt[row] = createdAt[last];
+        latitude[row] = latitude[last];
+        longitude[row] = longitude[last];
+        price[row] = price[last];
+        type[row] = type[last];
+        city[row] = city[last];
+        inquiries[row] = inquiries[last];
+        rows.put(ids[row], row);
+    }
+    
+    private static String normalizeCity(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    // Bounded min-heap on score, so the weakest of the current best k is evicted first
+    private static final class TopK {
+        private final long[] ids;
+        private final double[] scores;
+        private int size;
+        
+        TopK(int k) {
+            this.ids = new long[Math.max(1, k)];
+            this.scores = new double[Math.max(1, k)];
+        }
+        
+        void offer(long id, double score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+        
+        long[] sortedIds() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            // Ties go to the newer listing
+            Arrays.sort(order, (a, b) -> {
+                int byScore = Double.compare(scores[b], scores[a]);
+                return byScore != 0 ? byScore : Long.compare(ids[b], ids[a]);
+            });
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = ids[order[i]];
+            }
+            return sorted;
+        }
+        
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (scores[parent] <= scores[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+        
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && scores[right] < scores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+        
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
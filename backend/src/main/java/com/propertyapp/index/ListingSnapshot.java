@@ -0,0 +1,238 @@
+package com.propertyapp.index;
+
+import java.util.Arrays;
+
+/**
+ * Immutable column-oriented copy of the active listings, sorted by price and
+ * then property ID. Each column is a primitive array indexed by row, so range
+ * scans touch contiguous memory and never box values.
+ */
+public final class ListingSnapshot {
+    
+    static final float NO_SIZE = Float.NaN;
+    
+    static final ListingSnapshot EMPTY = new ListingSnapshot(new long[0], new long[0], new float[0],
+            new byte[0], new int[0], new int[0], new String[0], new String[0]);
+    
+    private final long[] ids;
+    private final long[] pricePaise;
+    private final float[] size;
+    private final byte[] type;
+    private final int[] cityIds;
+    private final int[] stateIds;
+    
+    // Dictionaries for cityIds and stateIds; shared between snapshots because they are append-only
+    private final String[] cityDictionary;
+    private final String[] stateDictionary;
+    
+    ListingSnapshot(long[] ids, long[] pricePaise, float[] size, byte[] type, int[] cityIds, int[] stateIds,
+                    String[] cityDictionary, String[] stateDictionary) {
+        this.ids = ids;
+        this.pricePaise = pricePaise;
+        this.size = size;
+        this.type = type;
+        this.cityIds = cityIds;
+        this.stateIds = stateIds;
+        this.cityDictionary = cityDictionary;
+        this.stateDictionary = stateDictionary;
+    }
+    
+    public int rowCount() {
+        return ids.length;
+    }
+    
+    public long idAt(int row) { return ids[row]; }
+    public long pricePaiseAt(int row) { return pricePaise[row]; }
+    public float sizeAt(int row) { return size[row]; }
+    public byte typeAt(int row) { return type[row]; }
+    public int cityIdAt(int row) { return cityIds[row]; }
+    public int stateIdAt(int row) { return stateIds[row]; }
+    
+    public String cityName(int cityId) {
+        return cityId >= 0 && cityId < cityDictionary.length ? cityDictionary[cityId] : null;
+    }
+    
+    public String stateName(int stateId) {
+        return stateId >= 0 && stateId < stateDictionary.length ? stateDictionary[stateId] : null;
+    }
+    
+    /**
+     * First row whose price is greater than or equal to {@code minPricePaise}.
+     */
+    public int lowerBound(long minPricePaise) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (pricePaise[mid] < minPricePaise) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Returns the IDs of rows inside the price range that also satisfy the
+     * optional filters, in ascending price order. Pass a negative type, city or
+     * state to skip that filter and NaN sizes to leave the size range open.
+     */
+    public long[] rangeQuery(long minPricePaise, long maxPricePaise, float minSize, float maxSize,
+                             int typeOrdinal, int cityId, int stateId, int limit) {
+        if (limit <= 0) {
+            return new long[0];
+        }
+        long[] matches = new long[Math.min(limit, 64)];
+        int count = 0;
+        for (int row = lowerBound(minPricePaise); row < ids.length && pricePaise[row] <= maxPricePaise; row++) {
+            if (!matches(row, minSize, maxSize, typeOrdinal, cityId, stateId)) {
+                continue;
+            }
+            if (count == matches.length) {
+                matches = Arrays.copyOf(matches, Math.min(limit, count * 2));
+            }
+            matches[count++] = ids[row];
+            if (count >= limit) {
+                break;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+    
+    public boolean matches(int row, float minSize, float maxSize, int typeOrdinal, int cityId, int stateId) {
+        if (typeOrdinal >= 0 && type[row] != typeOrdinal) {
+            return false;
+        }
+        if (cityId >= 0 && cityIds[row] != cityId) {
+            return false;
+        }
+        if (stateId >= 0 && stateIds[row] != stateId) {
+            return false;
+        }
+        if (!Float.isNaN(minSize) && !(size[row] >= minSize)) {
+            return false;
+        }
+        return Float.isNaN(maxSize) || size[row] <= maxSize;
+    }
+    
+    // Row holding exactly (price, id), or -1
+    int find(long price, long id) {
+        int row = lowerBound(price);
+        while (row < ids.length && pricePaise[row] == price) {
+            if (ids[row] == id) {
+                return row;
+            }
+            row++;
+        }
+        return -1;
+    }
+    
+    // Insertion point keeping the (price, id) ordering
+    int insertionPoint(long price, long id) {
+        int row = lowerBound(price);
+        while (row < ids.length && pricePaise[row] == price && ids[row] < id) {
+            row++;
+        }
+        return row;
+    }
+    
+    ListingSnapshot withRowInserted(int at, long id, long price, float rowSize, byte rowType, int cityId,
+                                    int stateId, String[] cities, String[] states) {
+        int n = ids.length;
+        long[] newIds = new long[n + 1];
+        long[] newPrices = new long[n + 1];
+        float[] newSizes = new float[n + 1];
+        byte[] newTypes = new byte[n + 1];
+        int[] newCities = new int[n + 1];
+        int[] newStates = new int[n + 1];
+        
+        System.arraycopy(ids, 0, newIds, 0, at);
+        System.arraycopy(pricePaise, 0, newPrices, 0, at);
+        System.arraycopy(size, 0, newSizes, 0, at);
+        System.arraycopy(type, 0, newTypes, 0, at);
+        System.arraycopy(cityIds, 0, newCities, 0, at);
+        System.arraycopy(stateIds, 0, newStates, 0, at);
+        
+        newIds[at] = id;
+        newPrices[at] = price;
+        newSizes[at] = rowSize;
+        newTypes[at] = rowType;
+        newCities[at] = cityId;
+        newStates[at] = stateId;
+        
+        System.arraycopy(ids, at, newIds, at + 1, n - at);
+        System.arraycopy(pricePaise, at, newPrices, at + 1, n - at);
+        System.arraycopy(size, at, newSizes, at + 1, n - at);
+        System.arraycopy(type, at, newTypes, at + 1, n - at);
+        System.arraycopy(cityIds, at, newCities, at + 1, n - at);
+        System.arraycopy(stateIds, at, newStates, at + 1, n - at);
+        
+        return new ListingSnapshot(newIds, newPrices, newSizes, newTypes, newCities, newStates, cities, states);
+    }
+    
+    // Merges rows already sorted by (price, id) into this snapshot in a single pass
+    ListingSnapshot withRowsMerged(long[] addIds, long[] addPrices, float[] addSizes, byte[] addTypes,
+                                   int[] addCities, int[] addStates, String[] cities, String[] states) {
+        int n = ids.length;
+        int m = addIds.length;
+        long[] newIds = new long[n + m];
+        long[] newPrices = new long[n + m];
+        float[] newSizes = new float[n + m];
+        byte[] newTypes = new byte[n + m];
+        int[] newCities = new int[n + m];
+        int[] newStates = new int[n + m];
+        
+        int i = 0;
+        int j = 0;
+        for (int row = 0; row < n + m; row++) {
+            boolean takeExisting = j >= m || (i < n && (pricePaise[i] < addPrices[j]
+                    || (pricePaise[i] == addPrices[j] && ids[i] < addIds[j])));
+            if (takeExisting) {
+                newIds[row] = ids[i];
+                newPrices[row] = pricePaise[i];
+                newSizes[row] = size[i];
+                newTypes[row] = type[i];
+                newCities[row] = cityIds[i];
+                newStates[row] = stateIds[i];
+                i++;
+            } else {
+                newIds[row] = addIds[j];
+                newPrices[row] = addPrices[j];
+                newSizes[row] = addSizes[j];
+                newTypes[row] = addTypes[j];
+                newCities[row] = addCities[j];
+                newStates[row] = addStates[j];
+                j++;
+            }
+        }
+        return new ListingSnapshot(newIds, newPrices, newSizes, newTypes, newCities, newStates, cities, states);
+    }
+    
+    ListingSnapshot withRowRemoved(int at) {
+        int n = ids.length;
+        long[] newIds = new long[n - 1];
+        long[] newPrices = new long[n - 1];
+        float[] newSizes = new float[n - 1];
+        byte[] newTypes = new byte[n - 1];
+        int[] newCities = new int[n - 1];
+        int[] newStates = new int[n - 1];
+        
+        System.arraycopy(ids, 0, newIds, 0, at);
+        System.arraycopy(pricePaise, 0, newPrices, 0, at);
+        System.arraycopy(size, 0, newSizes, 0, at);
+        System.arraycopy(type, 0, newTypes, 0, at);
+        System.arraycopy(cityIds, 0, newCities, 0, at);
+        System.arraycopy(stateIds, 0, newStates, 0, at);
+        
+        System.arraycopy(ids, at + 1, newIds, at, n - at - 1);
+        System.arraycopy(pricePaise, at + 1, newPrices, at, n - at - 1);
+        System.arraycopy(size, at + 1, newSizes, at, n - at - 1);
+        System.arraycopy(type, at + 1, newTypes, at, n - at - 1);
+        System.arraycopy(cityIds, at + 1, newCities, at, n - at - 1);
+        System.arraycopy(stateIds, at + 1, newStates, at, n - at - 1);
+        
+        return new ListingSnapshot(newIds, newPrices, newSizes, newTypes, newCities, newStates,
+                cityDictionary, stateDictionary);
+    }
+}
@@ -0,0 +1,228 @@
+package com.propertyapp.index;
+
+import com.propertyapp.model.Property;
+import com.propertyapp.model.PropertyType;
+import com.propertyapp.service.PropertyChangeListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Owns the current {@link ListingSnapshot}. Writers are serialised and publish a
+ * new snapshot through a volatile field; readers just grab the reference and
+ * scan it without locking.
+ */
+@Component
+public class ListingSnapshotIndex implements PropertyChangeListener {
+    
+    // Largest and smallest rupee amounts whose paise value fits in a long
+    private static final BigDecimal MAX_AMOUNT = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+    private static final BigDecimal MIN_AMOUNT = BigDecimal.valueOf(Long.MIN_VALUE, 2);
+    private static final BigDecimal MAX_PAISE = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final BigDecimal MIN_PAISE = BigDecimal.valueOf(Long.MIN_VALUE);
+    
+    private volatile ListingSnapshot current = ListingSnapshot.EMPTY;
+    
+    // Writer-side bookkeeping, guarded by "this"
+    private final Map<Long, Long> pricePaiseById = new HashMap<>();
+    private final Dictionary cities = new Dictionary();
+    private final Dictionary states = new Dictionary();
+    
+    /**
+     * Append-only string dictionary. Lookups are case-insensitive; the first
+     * spelling seen is the one reported back.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private String[] values = new String[0];
+        
+        int code(String value) {
+            return value == null ? -1 : codes.getOrDefault(normalize(value), -1);
+        }
+        
+        int intern(String value) {
+            if (value == null) {
+                return -1;
+            }
+            String key = normalize(value);
+            Integer code = codes.get(key);
+            if (code == null) {
+                code = values.length;
+                values = Arrays.copyOf(values, code + 1);
+                values[code] = value.trim();
+                codes.put(key, code);
+            }
+            return code;
+        }
+    }
+    
+    public ListingSnapshot snapshot() {
+        return current;
+    }
+    
+    /**
+     * City dictionary code for the given name, or -1 when no listing has ever
+     * been indexed in that city.
+     */
+    public synchronized int cityId(String city) {
+        return cities.code(city);
+    }
+    
+    public synchronized int stateId(String state) {
+        return states.code(state);
+    }
+    
+    public long[] findIdsInPriceRange(BigDecimal minPrice, BigDecimal maxPrice, BigDecimal minSize,
+                                      BigDecimal maxSize, PropertyType propertyType, String city, String state,
+                                      int limit) {
+        int cityId = -1;
+        if (city != null && !city.isBlank()) {
+            cityId = cityId(city);
+            if (cityId < 0) {
+                return new long[0];
+            }
+        }
+        int stateId = -1;
+        if (state != null && !state.isBlank()) {
+            stateId = stateId(state);
+            if (stateId < 0) {
+                return new long[0];
+            }
+        }
+        return current.rangeQuery(
+                minPrice == null ? Long.MIN_VALUE : boundToPaise(minPrice),
+                maxPrice == null ? Long.MAX_VALUE : boundToPaise(maxPrice),
+                minSize == null ? ListingSnapshot.NO_SIZE : minSize.floatValue(),
+                maxSize == null ? ListingSnapshot.NO_SIZE : maxSize.floatValue(),
+                propertyType == null ? -1 : propertyType.ordinal(),
+                cityId,
+                stateId,
+                limit);
+    }
+    
+    @Override
+    public synchronized void rebuild(List<Property> activeProperties) {
+        pricePaiseById.clear();
+        current = merged(ListingSnapshot.EMPTY, activeProperties);
+    }
+    
+    @Override
+    public synchronized void propertiesCreated(List<Property> properties) {
+        ListingSnapshot next = current;
+        for (Property property : properties) {
+            next = without(next, property.getPropertyId());
+        }
+        current = merged(next, properties);
+    }
+    
+    @Override
+    public synchronized void propertySaved(Property property, boolean created) {
+        ListingSnapshot next = without(current, property.getPropertyId());
+        if (Boolean.TRUE.equals(property.getIsActive()) && property.getPrice() != null) {
+            long id = property.getPropertyId();
+            long price = toPaise(property.getPrice());
+            int cityId = cities.intern(property.getCity());
+            int stateId = states.intern(property.getState());
+            next = next.withRowInserted(next.insertionPoint(price, id), id, price,
+                    toSize(property.getPropertySize()), toType(property.getPropertyType()), cityId, stateId,
+                    cities.values, states.values);
+            pricePaiseById.put(id, price);
+        }
+        current = next;
+    }
+    
+    @Override
+    public synchronized void propertyRemoved(Property property) {
+        current = without(current, property.getPropertyId());
+    }
+    
+    // Sorts the active, priced listings and merges them into the base snapshot
+    private ListingSnapshot merged(ListingSnapshot base, List<Property> properties) {
+        Property[] rows = properties.stream()
+                .filter(property -> Boolean.TRUE.equals(property.getIsActive()) && property.getPrice() != null)
+                .toArray(Property[]::new);
+        long[] prices = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            prices[i] = toPaise(rows[i].getPrice());
+        }
+        
+        Integer[] order = new Integer[rows.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byPrice = Long.compare(prices[a], prices[b]);
+            return byPrice != 0 ? byPrice : Long.compare(rows[a].getPropertyId(), rows[b].getPropertyId());
+        });
+        
+        long[] ids = new long[rows.length];
+        long[] sortedPrices = new long[rows.length];
+        float[] sizes = new float[rows.length];
+        byte[] types = new byte[rows.length];
+        int[] cityIds = new int[rows.length];
+        int[] stateIds = new int[rows.length];
+        for (int row = 0; row < order.length; row++) {
+            Property property = rows[order[row]];
+            ids[row] = property.getPropertyId();
+            sortedPrices[row] = prices[order[row]];
+            sizes[row] = toSize(property.getPropertySize());
+            types[row] = toType(property.getPropertyType());
+            cityIds[row] = cities.intern(property.getCity());
+            stateIds[row] = states.intern(property.getState());
+            pricePaiseById.put(ids[row], sortedPrices[row]);
+        }
+        return base.withRowsMerged(ids, sortedPrices, sizes, types, cityIds, stateIds, cities.values, states.values);
+    }
+    
+    private ListingSnapshot without(ListingSnapshot snapshot, Long propertyId) {
+        Long price = pricePaiseById.remove(propertyId);
+        if (price == null) {
+            return snapshot;
+        }
+        int row = snapshot.find(price, propertyId);
+        return row < 0 ? snapshot : snapshot.withRowRemoved(row);
+    }
+    
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    static long toPaise(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+    
+    // Query bounds are user input; out-of-range values clamp instead of overflowing.
+    // Range checks come before any rescaling, since 1e999999999 or 1e-999999999 would
+    // otherwise expand into a billion-digit integer.
+    static long boundToPaise(BigDecimal amount) {
+        if (amount.compareTo(MAX_AMOUNT) > 0) {
+            return Long.MAX_VALUE;
+        }
+        if (amount.compareTo(MIN_AMOUNT) < 0) {
+            return Long.MIN_VALUE;
+        }
+        if (amount.precision() - amount.scale() < -2) {
+            // Smaller than a tenth of a paisa in magnitude
+            return 0L;
+        }
+        // Rounding can still carry a bound sitting just inside the range over the edge
+        BigDecimal paise = amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP);
+        return paise.compareTo(MAX_PAISE) > 0 ? Long.MAX_VALUE
+                : paise.compareTo(MIN_PAISE) < 0 ? Long.MIN_VALUE
+                : paise.longValueExact();
+    }
+    
+    private static float toSize(BigDecimal size) {
+        return size == null ? ListingSnapshot.NO_SIZE : size.floatValue();
+    }
+    
+    private static byte toType(PropertyType type) {
+        return type == null ? -1 : (byte) type.ordinal();
+    }
+}
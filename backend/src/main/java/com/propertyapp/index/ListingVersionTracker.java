@@ -0,0 +1,93 @@
+package com.propertyapp.index;
+
+import com.propertyapp.model.Property;
+import com.propertyapp.service.PropertyChangeListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP validators for listing resources, answerable without a database hit.
+ * Single listings are validated by their updated_at timestamp; collections by
+ * a counter that moves on every listing write. The startup epoch is part of
+ * every tag so validators issued by a previous process are never honoured.
+ */
+@Component
+public class ListingVersionTracker implements PropertyChangeListener {
+    
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong collectionVersion = new AtomicLong();
+    private final Map<Long, Long> updatedAtById = new ConcurrentHashMap<>();
+    
+    private volatile long lastModified = epoch;
+    private volatile boolean ready;
+    
+    @Override
+    public void rebuild(List<Property> activeProperties) {
+        updatedAtById.clear();
+        for (Property property : activeProperties) {
+            track(property);
+        }
+        touch();
+        ready = true;
+    }
+    
+    @Override
+    public void propertySaved(Property property, boolean created) {
+        track(property);
+        touch();
+    }
+    
+    @Override
+    public void propertyRemoved(Property property) {
+        track(property);
+        touch();
+    }
+    
+    /**
+     * ETag for the listing, or null when the tracker cannot vouch for it and the
+     * caller has to fall back to an unconditional response.
+     */
+    public String propertyETag(Long propertyId) {
+        Long updatedAt = updatedAtById.get(propertyId);
+        return ready && updatedAt != null ? "\"" + epoch + "-" + propertyId + "-" + updatedAt + "\"" : null;
+    }
+    
+    public long propertyLastModified(Long propertyId) {
+        Long updatedAt = updatedAtById.get(propertyId);
+        return updatedAt == null ? -1 : updatedAt;
+    }
+    
+    /**
+     * Invalidates collection validators for changes that are not listing writes,
+     * such as image renditions becoming available.
+     */
+    public void collectionChanged() {
+        touch();
+    }
+    
+    public String collectionETag() {
+        return ready ? "\"" + epoch + "-c" + collectionVersion.get() + "\"" : null;
+    }
+    
+    public long collectionLastModified() {
+        return lastModified;
+    }
+    
+    private void track(Property property) {
+        LocalDateTime updatedAt = property.getUpdatedAt() != null ? property.getUpdatedAt() : property.getCreatedAt();
+        if (updatedAt != null) {
+            updatedAtById.put(property.getPropertyId(), updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+    
+    private void touch() {
+        collectionVersion.incrementAndGet();
+        lastModified = System.currentTimeMillis();
+    }
+}
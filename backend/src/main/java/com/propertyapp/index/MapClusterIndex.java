@@ -0,0 +1,347 @@
+package com.propertyapp.index;
+
+import com.propertyapp.dto.MapCluster;
+import com.propertyapp.model.Property;
+import com.propertyapp.service.PropertyChangeListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Marker clusters for the map view, precomputed as a pyramid of Web Mercator
+ * grids. Level {@code L} splits the world into {@code 2^L x 2^L} cells (the
+ * slippy-map tiles of zoom {@code L}); every level keeps count, coordinate sums
+ * and price range per populated cell, so a viewport query only reads the cells
+ * it covers. Writes touch one cell per level. The finest level keeps its member
+ * listings, and a removal recomputes price ranges upwards from at most four
+ * child cells per level.
+ */
+@Component
+public class MapClusterIndex implements PropertyChangeListener {
+    
+    // Level 16 cells are ~600 m across at the equator; closer views just reuse them
+    static final int MAX_LEVEL = 16;
+    // Cells per tile edge at the requested zoom: 2^2 = 4, i.e. one cluster per ~64 px of a 256 px tile
+    private static final int LEVEL_OFFSET = 2;
+    private static final int MAX_CLUSTERS = 2000;
+    private static final double MAX_MERCATOR_LATITUDE = 85.05112878;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Map<Long, Cell>[] levels = new Map[MAX_LEVEL + 1];
+    private final Map<Long, Member> members = new HashMap<>();
+    
+    private static final class Cell {
+        private int count;
+        private double latitudeSum;
+        private double longitudeSum;
+        private double minPrice = Double.POSITIVE_INFINITY;
+        private double maxPrice = Double.NEGATIVE_INFINITY;
+        // Finest level only
+        private List<Member> listings;
+        
+        void add(Member member) {
+            count++;
+            latitudeSum += member.latitude;
+            longitudeSum += member.longitude;
+            minPrice = Math.min(minPrice, member.price);
+            maxPrice = Math.max(maxPrice, member.price);
+        }
+        
+        void merge(Cell child) {
+            count += child.count;
+            latitudeSum += child.latitudeSum;
+            longitudeSum += child.longitudeSum;
+            minPrice = Math.min(minPrice, child.minPrice);
+            maxPrice = Math.max(maxPrice, child.maxPrice);
+        }
+    }
+    
+    private static final class Member {
+        private final long propertyId;
+        private final double latitude;
+        private final double longitude;
+        private final double price;
+        private final int x;
+        private final int y;
+        
+        Member(long propertyId, double latitude, double longitude, double price) {
+            this.propertyId = propertyId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.price = price;
+            this.x = tileX(longitude, MAX_LEVEL);
+            this.y = tileY(latitude, MAX_LEVEL);
+        }
+    }
+    
+    public MapClusterIndex() {
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            levels[level] = new HashMap<>();
+        }
+    }
+    
+    @Override
+    public void rebuild(List<Property> activeProperties) {
+        lock.writeLock().lock();
+        try {
+            for (Map<Long, Cell> level : levels) {
+                level.clear();
+            }
+            members.clear();
+            for (Property property : activeProperties) {
+                Member member = newMember(property);
+                if (member != null) {
+                    members.put(member.propertyId, member);
+                    addToFinest(member);
+                }
+            }
+            // Each coarser level is folded from the one below rather than re-inserting every listing
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                Map<Long, Cell> parents = levels[level];
+                for (Map.Entry<Long, Cell> entry : levels[level + 1].entrySet()) {
+                    int x = (int) (entry.getKey() >>> 32) >> 1;
+                    int y = ((int) (long) entry.getKey()) >> 1;
+                    parents.computeIfAbsent(cellKey(x, y), key -> new Cell()).merge(entry.getValue());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void propertySaved(Property property, boolean created) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(property.getPropertyId());
+            if (Boolean.TRUE.equals(property.getIsActive())) {
+                addLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void propertyRemoved(Property property) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(property.getPropertyId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Clusters covering the viewport at the given map zoom. A viewport that
+     * crosses the antimeridian has {@code west > east}. If the viewport is far
+     * larger than the zoom implies, a coarser level is used so the response
+     * stays bounded.
+     */
+    public List<MapCluster> clusters(double south, double west, double north, double east, int zoom) {
+        int level = Math.max(0, Math.min(zoom + LEVEL_OFFSET, MAX_LEVEL));
+        lock.readLock().lock();
+        try {
+            while (true) {
+                List<MapCluster> clusters = new ArrayList<>();
+                boolean complete;
+                if (west <= east) {
+                    complete = collect(level, south, west, north, east, clusters);
+                } else {
+                    complete = collect(level, south, west, north, 180.0, clusters)
+                            && collect(level, south, -180.0, north, east, clusters);
+                }
+                if (complete || level == 0) {
+                    return clusters;
+                }
+                level--;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return members.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Returns false once MAX_CLUSTERS is exceeded; must be called with a lock held
+    private boolean collect(int level, double south, double west, double north, double east, List<MapCluster> out) {
+        Map<Long, Cell> cells = levels[level];
+        int minX = tileX(west, level);
+        int maxX = tileX(east, level);
+        // Tile rows grow southwards
+        int minY = tileY(north, level);
+        int maxY = tileY(south, level);
+        
+        long cellsInBox = (long) (maxX - minX + 1) * (maxY - minY + 1);
+        if (cellsInBox > cells.size()) {
+            // Sparse level: walking the populated cells is cheaper than probing the box
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                int x = (int) (entry.getKey() >>> 32);
+                int y = (int) (long) entry.getKey();
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY && !emit(level, x, y, entry.getValue(), out)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                Cell cell = cells.get(cellKey(x, y));
+                if (cell != null && !emit(level, x, y, cell, out)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    private boolean emit(int level, int x, int y, Cell cell, List<MapCluster> out) {
+        if (out.size() >= MAX_CLUSTERS) {
+            return false;
+        }
+        Long propertyId = cell.count == 1 ? soleListing(level, x, y) : null;
+        out.add(new MapCluster(cell.latitudeSum / cell.count, cell.longitudeSum / cell.count, cell.count,
+                money(cell.minPrice), money(cell.maxPrice), propertyId));
+        return true;
+    }
+    
+    // Follows the single populated child down to the finest level, where members are kept
+    private Long soleListing(int level, int x, int y) {
+        for (int l = level; l < MAX_LEVEL; l++) {
+            Map<Long, Cell> children = levels[l + 1];
+            int childX = -1;
+            int childY = -1;
+            for (int dx = 0; dx <= 1 && childX < 0; dx++) {
+                for (int dy = 0; dy <= 1; dy++) {
+                    if (children.containsKey(cellKey(2 * x + dx, 2 * y + dy))) {
+                        childX = 2 * x + dx;
+                        childY = 2 * y + dy;
+                        break;
+                    }
+                }
+            }
+            if (childX < 0) {
+                return null;
+            }
+            x = childX;
+            y = childY;
+        }
+        Cell finest = levels[MAX_LEVEL].get(cellKey(x, y));
+        return finest == null || finest.listings.isEmpty() ? null : finest.listings.get(0).propertyId;
+    }
+    
+    private void addLocked(Property property) {
+        Member member = newMember(property);
+        if (member == null) {
+            return;
+        }
+        members.put(member.propertyId, member);
+        addToFinest(member);
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            int shift = MAX_LEVEL - level;
+            levels[level].computeIfAbsent(cellKey(member.x >> shift, member.y >> shift), key -> new Cell()).add(member);
+        }
+    }
+    
+    private void addToFinest(Member member) {
+        Cell cell = levels[MAX_LEVEL].computeIfAbsent(cellKey(member.x, member.y), key -> new Cell());
+        cell.add(member);
+        if (cell.listings == null) {
+            cell.listings = new ArrayList<>(2);
+        }
+        cell.listings.add(member);
+    }
+    
+    private static Member newMember(Property property) {
+        if (property.getLatitude() == null || property.getLongitude() == null || property.getPrice() == null) {
+            return null;
+        }
+        return new Member(property.getPropertyId(), property.getLatitude().doubleValue(),
+                property.getLongitude().doubleValue(), property.getPrice().doubleValue());
+    }
+    
+    private void removeLocked(Long propertyId) {
+        Member member = members.remove(propertyId);
+        if (member == null) {
+            return;
+        }
+        long finestKey = cellKey(member.x, member.y);
+        Cell finest = levels[MAX_LEVEL].get(finestKey);
+        finest.listings.removeIf(candidate -> candidate.propertyId == member.propertyId);
+        if (finest.listings.isEmpty()) {
+            levels[MAX_LEVEL].remove(finestKey);
+        } else {
+            Cell rebuilt = new Cell();
+            rebuilt.listings = finest.listings;
+            for (Member remaining : finest.listings) {
+                rebuilt.add(remaining);
+            }
+            levels[MAX_LEVEL].put(finestKey, rebuilt);
+        }
+        
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            int shift = MAX_LEVEL - level;
+            int x = member.x >> shift;
+            int y = member.y >> shift;
+            long key = cellKey(x, y);
+            Cell cell = levels[level].get(key);
+            cell.count--;
+            if (cell.count == 0) {
+                levels[level].remove(key);
+                continue;
+            }
+            cell.latitudeSum -= member.latitude;
+            cell.longitudeSum -= member.longitude;
+            // Price range can only be recovered from the (at most four) child cells one level down
+            cell.minPrice = Double.POSITIVE_INFINITY;
+            cell.maxPrice = Double.NEGATIVE_INFINITY;
+            Map<Long, Cell> children = levels[level + 1];
+            for (int dx = 0; dx <= 1; dx++) {
+                for (int dy = 0; dy <= 1; dy++) {
+                    Cell child = children.get(cellKey(2 * x + dx, 2 * y + dy));
+                    if (child != null) {
+                        cell.minPrice = Math.min(cell.minPrice, child.minPrice);
+                        cell.maxPrice = Math.max(cell.maxPrice, child.maxPrice);
+                    }
+                }
+            }
+        }
+    }
+    
+    static int tileX(double longitude, int level) {
+        int tiles = 1 << level;
+        int x = (int) Math.floor((longitude + 180.0) / 360.0 * tiles);
+        return Math.max(0, Math.min(x, tiles - 1));
+    }
+    
+    static int tileY(double latitude, int level) {
+        int tiles = 1 << level;
+        double clamped = Math.max(-MAX_MERCATOR_LATITUDE, Math.min(latitude, MAX_MERCATOR_LATITUDE));
+        double radians = Math.toRadians(clamped);
+        double mercator = Math.log(Math.tan(radians) + 1 / Math.cos(radians));
+        int y = (int) Math.floor((1 - mercator / Math.PI) / 2 * tiles);
+        return Math.max(0, Math.min(y, tiles - 1));
+    }
+    
+    private static long cellKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+    
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,163 @@
+package com.propertyapp.index;
+
+import com.propertyapp.dto.MarketStats;
+import com.propertyapp.model.Property;
+import com.propertyapp.model.PropertyType;
+import com.propertyapp.service.PropertyChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Price per square foot by city and property type, kept current on every
+ * listing write. Each (type, city) segment holds a running sum and a
+ * {@link QuantileSketch}; a listing's previous contribution is remembered so
+ * an update or deactivation subtracts exactly what was added. Reads never scan
+ * listings: a query touches one segment, or merges the four type segments of
+ * a city when no type is given.
+ */
+@Component
+public class MarketStatsIndex implements PropertyChangeListener {
+    
+    private final double relativeAccuracy;
+    
+    // Guarded by "this"
+    private final Map<String, Segment> segments = new HashMap<>();
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    
+    private final class Segment {
+        private final QuantileSketch sketch = new QuantileSketch(relativeAccuracy);
+        private double sum;
+    }
+    
+    private static final class Contribution {
+        private final String segmentKey;
+        private final double pricePerSqft;
+        
+        Contribution(String segmentKey, double pricePerSqft) {
+            this.segmentKey = segmentKey;
+            this.pricePerSqft = pricePerSqft;
+        }
+    }
+    
+    public MarketStatsIndex(@Value("${property.market-stats.relative-accuracy:0.01}") double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+    }
+    
+    @Override
+    public synchronized void rebuild(List<Property> activeProperties) {
+        segments.clear();
+        contributions.clear();
+        for (Property property : activeProperties) {
+            addLocked(property);
+        }
+    }
+    
+    @Override
+    public synchronized void propertySaved(Property property, boolean created) {
+        removeLocked(property.getPropertyId());
+        if (Boolean.TRUE.equals(property.getIsActive())) {
+            addLocked(property);
+        }
+    }
+    
+    @Override
+    public synchronized void propertyRemoved(Property property) {
+        removeLocked(property.getPropertyId());
+    }
+    
+    /**
+     * Market figures for a city, optionally for one type and with a price
+     * estimate for the given size.
+     */
+    public synchronized MarketStats stats(String city, PropertyType propertyType, BigDecimal size) {
+        String normalizedCity = normalizeCity(city);
+        QuantileSketch sketch;
+        double sum;
+        if (propertyType != null) {
+            Segment segment = segments.get(segmentKey(propertyType, normalizedCity));
+            sketch = segment == null ? null : segment.sketch;
+            sum = segment == null ? 0 : segment.sum;
+        } else {
+            sketch = new QuantileSketch(relativeAccuracy);
+            sum = 0;
+            for (PropertyType type : PropertyType.values()) {
+                Segment segment = segments.get(segmentKey(type, normalizedCity));
+                if (segment != null) {
+                    sketch.addAll(segment.sketch);
+                    sum += segment.sum;
+                }
+            }
+        }
+        
+        MarketStats stats = new MarketStats();
+        stats.setCity(city.trim());
+        stats.setPropertyType(propertyType);
+        stats.setSize(size);
+        long count = sketch == null ? 0 : sketch.count();
+        stats.setListings(count);
+        if (count == 0) {
+            return stats;
+        }
+        stats.setAveragePricePerSqft(money(sum / count));
+        stats.setP10PricePerSqft(money(sketch.quantile(0.10)));
+        stats.setP25PricePerSqft(money(sketch.quantile(0.25)));
+        stats.setMedianPricePerSqft(money(sketch.quantile(0.50)));
+        stats.setP75PricePerSqft(money(sketch.quantile(0.75)));
+        stats.setP90PricePerSqft(money(sketch.quantile(0.90)));
+        stats.setMinPricePerSqft(money(sketch.quantile(0.0)));
+        stats.setMaxPricePerSqft(money(sketch.quantile(1.0)));
+        if (size != null) {
+            stats.setEstimatedPrice(stats.getMedianPricePerSqft().multiply(size).setScale(0, RoundingMode.HALF_UP));
+            stats.setEstimatedPriceLow(stats.getP25PricePerSqft().multiply(size).setScale(0, RoundingMode.HALF_UP));
+            stats.setEstimatedPriceHigh(stats.getP75PricePerSqft().multiply(size).setScale(0, RoundingMode.HALF_UP));
+        }
+        return stats;
+    }
+    
+    private void addLocked(Property property) {
+        BigDecimal price = property.getPrice();
+        BigDecimal area = property.getPropertySize();
+        if (price == null || area == null || price.signum() <= 0 || area.signum() <= 0
+                || property.getCity() == null || property.getPropertyType() == null) {
+            return;
+        }
+        double pricePerSqft = price.doubleValue() / area.doubleValue();
+        String key = segmentKey(property.getPropertyType(), normalizeCity(property.getCity()));
+        Segment segment = segments.computeIfAbsent(key, k -> new Segment());
+        segment.sketch.add(pricePerSqft);
+        segment.sum += pricePerSqft;
+        contributions.put(property.getPropertyId(), new Contribution(key, pricePerSqft));
+    }
+    
+    private void removeLocked(Long propertyId) {
+        Contribution contribution = contributions.remove(propertyId);
+        if (contribution == null) {
+            return;
+        }
+        Segment segment = segments.get(contribution.segmentKey);
+        segment.sketch.remove(contribution.pricePerSqft);
+        segment.sum -= contribution.pricePerSqft;
+        if (segment.sketch.count() == 0) {
+            segments.remove(contribution.segmentKey);
+        }
+    }
+    
+    private static String segmentKey(PropertyType type, String normalizedCity) {
+        return type.name() + "|" + normalizedCity;
+    }
+    
+    private static String normalizeCity(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
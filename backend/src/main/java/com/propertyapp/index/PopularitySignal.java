@@ -0,0 +1,36 @@
+package com.propertyapp.index;
+
+import com.propertyapp.dto.RankingQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Favours listings that buyers have inquired about. The score saturates, so a
+ * handful of inquiries counts for a lot and a runaway listing cannot drown
+ * out the other signals.
+ */
+@Component
+public class PopularitySignal implements RankingSignal {
+    
+    @Value("${property.ranking.weights.popularity:0.5}")
+    private double weight;
+    
+    // Inquiry count at which the score reaches about 63% of its maximum
+    @Value("${property.ranking.popularity-saturation:5}")
+    private double saturation;
+    
+    @Override
+    public String name() {
+        return "popularity";
+    }
+    
+    @Override
+    public double weight() {
+        return weight;
+    }
+    
+    @Override
+    public Scorer prepare(RankingQuery query, long nowMillis) {
+        return listing -> 1.0 - Math.exp(-listing.inquiryCount() / saturation);
+    }
+}
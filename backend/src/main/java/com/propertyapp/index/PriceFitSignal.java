@@ -0,0 +1,53 @@
+package com.propertyapp.index;
+
+import com.propertyapp.dto.RankingQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Favours listings inside the searcher's price range. The range is a soft
+ * preference: a listing inside it scores 1 and the score falls off with the
+ * log ratio to the nearest bound, so a listing 10% over budget still ranks
+ * well above one that is twice the budget.
+ */
+@Component
+public class PriceFitSignal implements RankingSignal {
+    
+    @Value("${property.ranking.weights.price-fit:1.5}")
+    private double weight;
+    
+    // Log-ratio width of the fall-off; 0.2 is roughly "within 20% of the bound"
+    @Value("${property.ranking.price-tolerance:0.2}")
+    private double tolerance;
+    
+    @Override
+    public String name() {
+        return "priceFit";
+    }
+    
+    @Override
+    public double weight() {
+        return weight;
+    }
+    
+    @Override
+    public Scorer prepare(RankingQuery query, long nowMillis) {
+        if (query.getMinPrice() == null && query.getMaxPrice() == null) {
+            return null;
+        }
+        double logMin = query.getMinPrice() == null || query.getMinPrice().signum() <= 0
+                ? Double.NEGATIVE_INFINITY : Math.log(query.getMinPrice().doubleValue());
+        double logMax = query.getMaxPrice() == null || query.getMaxPrice().signum() <= 0
+                ? Double.POSITIVE_INFINITY : Math.log(query.getMaxPrice().doubleValue());
+        double twoSigmaSquared = 2 * tolerance * tolerance;
+        return listing -> {
+            double price = listing.price();
+            if (!(price > 0)) {
+                return 0.0;
+            }
+            double logPrice = Math.log(price);
+            double miss = logPrice < logMin ? logMin - logPrice : logPrice > logMax ? logPrice - logMax : 0.0;
+            return Math.exp(-miss * miss / twoSigmaSquared);
+        };
+    }
+}
@@ -0,0 +1,277 @@
+package com.propertyapp.index;
+
+import com.propertyapp.model.Property;
+import com.propertyapp.service.PropertyChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Inverted index over the searchable text columns of active listings.
+ * Terms are case-folded alphanumeric tokens; every query token may match as
+ * a prefix, and a listing must match all query tokens to be returned. A prefix
+ * expands to at most {@code property.text-search.max-prefix-expansions} terms,
+ * keeping the ones that occur in the most listings.
+ */
+@Component
+public class PropertyTextIndex implements PropertyChangeListener {
+    
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float CITY_WEIGHT = 2.0f;
+    private static final float STATE_WEIGHT = 1.5f;
+    private static final float ADDRESS_WEIGHT = 1.0f;
+    private static final float DESCRIPTION_WEIGHT = 0.5f;
+    
+    // Exact term hits outrank hits that only share a prefix
+    private static final float PREFIX_MATCH_FACTOR = 0.6f;
+    
+    // Terms a single query token may expand to; see expansions()
+    @Value("${property.text-search.max-prefix-expansions:64}")
+    private int maxPrefixExpansions;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // term -> (propertyId -> weighted term frequency)
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    
+    // propertyId -> indexed terms, so a listing can be removed without a full scan
+    private final Map<Long, List<String>> termsByProperty = new HashMap<>();
+    
+    @Override
+    public void rebuild(List<Property> activeProperties) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByProperty.clear();
+            for (Property property : activeProperties) {
+                addLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void propertySaved(Property property, boolean created) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(property.getPropertyId());
+            if (Boolean.TRUE.equals(property.getIsActive())) {
+                addLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void propertyRemoved(Property property) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(property.getPropertyId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public List<Long> search(String query, int limit) {
+        return new ArrayList<>(searchScores(query, limit).keySet());
+    }
+    
+    /**
+     * Returns up to {@code limit} matching property IDs mapped to their relevance
+     * score, in descending score order.
+     */
+    public Map<Long, Float> searchScores(String query, int limit) {
+        return searchScores(query, limit, null);
+    }
+    
+    /**
+     * Like {@link #searchScores(String, int)}, but only listings accepted by
+     * {@code filter} compete for the {@code limit} places, so a narrow filter
+     * does not lose its matches to better-scoring listings it would reject.
+     * A null filter accepts every listing.
+     */
+    public Map<Long, Float> searchScores(String query, int limit, LongPredicate filter) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return new LinkedHashMap<>();
+        }
+        
+        lock.readLock().lock();
+        try {
+            int documentCount = Math.max(1, termsByProperty.size());
+            Map<Long, Float> scores = null;
+            
+            for (String token : queryTokens) {
+                Map<Long, Float> tokenScores = scoreToken(token, documentCount);
+                if (scores == null) {
+                    // Later tokens only intersect, so filtering the first one's matches is enough
+                    if (filter != null) {
+                        tokenScores.keySet().removeIf(propertyId -> !filter.test(propertyId));
+                    }
+                    scores = tokenScores;
+                } else {
+                    // AND semantics: keep only listings that matched every token so far
+                    Map<Long, Float> intersection = new HashMap<>();
+                    for (Map.Entry<Long, Float> entry : tokenScores.entrySet()) {
+                        Float previous = scores.get(entry.getKey());
+                        if (previous != null) {
+                            intersection.put(entry.getKey(), previous + entry.getValue());
+                        }
+                    }
+                    scores = intersection;
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            return topScores(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termsByProperty.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private Map<Long, Float> scoreToken(String token, int documentCount) {
+        Map<Long, Float> tokenScores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Float>> term : expansions(token)) {
+            Map<Long, Float> termPostings = term.getValue();
+            float idf = (float) Math.log(1.0 + (double) documentCount / termPostings.size());
+            float factor = term.getKey().equals(token) ? 1.0f : PREFIX_MATCH_FACTOR;
+            for (Map.Entry<Long, Float> posting : termPostings.entrySet()) {
+                float score = posting.getValue() * idf * factor;
+                // A listing matching several expansions of one prefix keeps its best hit
+                tokenScores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return tokenScores;
+    }
+    
+    /**
+     * Terms the token expands to: the exact term if indexed, plus the most widely
+     * used terms it is a prefix of, up to {@code maxPrefixExpansions} in total.
+     * Keeping the commonest expansions means a short prefix drops rare words
+     * rather than whichever happen to sort last.
+     */
+    private Collection<Map.Entry<String, Map<Long, Float>>> expansions(String token) {
+        NavigableMap<String, Map<Long, Float>> matches =
+                postings.subMap(token, true, token + Character.MAX_VALUE, false);
+        if (matches.size() <= maxPrefixExpansions) {
+            return matches.entrySet();
+        }
+        
+        Map<Long, Float> exact = postings.get(token);
+        int limit = exact == null ? maxPrefixExpansions : maxPrefixExpansions - 1;
+        // Min-heap on document frequency holding the best expansions seen so far
+        PriorityQueue<Map.Entry<String, Map<Long, Float>>> commonest = new PriorityQueue<>(
+                Comparator.comparingInt((Map.Entry<String, Map<Long, Float>> term) -> term.getValue().size())
+                        .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()));
+        for (Map.Entry<String, Map<Long, Float>> term : matches.entrySet()) {
+            if (exact != null && term.getKey().equals(token)) {
+                continue;
+            }
+            commonest.add(term);
+            if (commonest.size() > limit) {
+                commonest.poll();
+            }
+        }
+        
+        List<Map.Entry<String, Map<Long, Float>>> selected = new ArrayList<>(commonest);
+        if (exact != null) {
+            selected.add(Map.entry(token, exact));
+        }
+        return selected;
+    }
+    
+    private static Map<Long, Float> topScores(Map<Long, Float> scores, int limit) {
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort((a, b) -> {
+            int byScore = Float.compare(b.getValue(), a.getValue());
+            return byScore != 0 ? byScore : Long.compare(b.getKey(), a.getKey());
+        });
+        
+        Map<Long, Float> top = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(limit, ranked.size()); i++) {
+            top.put(ranked.get(i).getKey(), ranked.get(i).getValue());
+        }
+        return top;
+    }
+    
+    private void addLocked(Property property) {
+        Long propertyId = property.getPropertyId();
+        Map<String, Float> frequencies = new HashMap<>();
+        accumulate(frequencies, property.getTitle(), TITLE_WEIGHT);
+        accumulate(frequencies, property.getCity(), CITY_WEIGHT);
+        accumulate(frequencies, property.getState(), STATE_WEIGHT);
+        accumulate(frequencies, property.getAddress(), ADDRESS_WEIGHT);
+        accumulate(frequencies, property.getDescription(), DESCRIPTION_WEIGHT);
+        
+        for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(propertyId, entry.getValue());
+        }
+        termsByProperty.put(propertyId, new ArrayList<>(frequencies.keySet()));
+    }
+    
+    private void removeLocked(Long propertyId) {
+        List<String> terms = termsByProperty.remove(propertyId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(propertyId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+    
+    private static void accumulate(Map<String, Float> frequencies, String text, float weight) {
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+    }
+    
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,105 @@
+package com.propertyapp.index;
+
+import java.util.Arrays;
+
+/**
+ * Log-bucketed histogram of positive values with bounded relative error (the
+ * DDSketch scheme). Every value in bucket {@code i} lies in
+ * {@code (gamma^(i-1), gamma^i]}, so any quantile is reported within
+ * {@code relativeAccuracy} of a true sample value. Unlike t-digest, buckets are
+ * plain counters, so a value can be removed exactly as it was added; that is
+ * what lets listing updates and deletions be applied incrementally.
+ * Not thread-safe; callers synchronise.
+ */
+final class QuantileSketch {
+    
+    private final double gamma;
+    private final double logGamma;
+    
+    // counts[i] holds bucket (offset + i); grown on demand in both directions
+    private long[] counts = new long[0];
+    private int offset;
+    private long total;
+    
+    QuantileSketch(double relativeAccuracy) {
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+    
+    void add(double value) {
+        int bucket = bucketOf(value);
+        ensureCapacity(bucket);
+        counts[bucket - offset]++;
+        total++;
+    }
+    
+    void remove(double value) {
+        int slot = bucketOf(value) - offset;
+        if (slot < 0 || slot >= counts.length || counts[slot] == 0) {
+            return;
+        }
+        counts[slot]--;
+        total--;
+    }
+    
+    void addAll(QuantileSketch other) {
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] > 0) {
+                int bucket = other.offset + i;
+                ensureCapacity(bucket);
+                counts[bucket - offset] += other.counts[i];
+            }
+        }
+        total += other.total;
+    }
+    
+    long count() {
+        return total;
+    }
+    
+    /**
+     * Value at quantile {@code q} (0..1), or NaN when the sketch is empty. Cost is
+     * bounded by the number of buckets, which depends only on the value range.
+     */
+    double quantile(double q) {
+        if (total == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(Math.max(0, Math.min(1, q)) * (total - 1));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return valueOf(offset + i);
+            }
+        }
+        return valueOf(offset + counts.length - 1);
+    }
+    
+    private int bucketOf(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+    
+    // Midpoint of the bucket in relative terms, which is what bounds the error
+    private double valueOf(int bucket) {
+        return 2 * Math.pow(gamma, bucket) / (gamma + 1);
+    }
+    
+    private void ensureCapacity(int bucket) {
+        if (counts.length == 0) {
+            counts = new long[16];
+            offset = bucket - 8;
+            return;
+        }
+        if (bucket < offset) {
+            int grow = Math.max(offset - bucket, counts.length / 2);
+            long[] grown = new long[counts.length + grow];
+            System.arraycopy(counts, 0, grown, grow, counts.length);
+            counts = grown;
+            offset -= grow;
+        } else if (bucket >= offset + counts.length) {
+            int grow = Math.max(bucket - offset - counts.length + 1, counts.length / 2);
+            counts = Arrays.copyOf(counts, counts.length + grow);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.propertyapp.index;
+
+import com.propertyapp.dto.RankingQuery;
+
+/**
+ * One component of the "best match" score. Every bean of this type is picked
+ * up by {@link ListingRanker}; a listing's score is the weighted sum of the
+ * signals that apply to the query. Add a signal by declaring another bean.
+ */
+public interface RankingSignal {
+    
+    String name();
+    
+    double weight();
+    
+    /**
+     * Prepares a scorer for one query, doing any per-query work up front, or
+     * returns null when the signal has nothing to say about this query.
+     */
+    Scorer prepare(RankingQuery query, long nowMillis);
+    
+    @FunctionalInterface
+    interface Scorer {
+        /**
+         * Score in [0, 1] for one candidate; higher is better. Called once per
+         * candidate, so it should only read the features.
+         */
+        double score(ListingFeatures listing);
+    }
+}
@@ -0,0 +1,228 @@
+package com.propertyapp.index;
+
+import com.propertyapp.model.Property;
+import com.propertyapp.model.PropertyType;
+import com.propertyapp.model.SavedSearch;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Percolator over saved searches: instead of running every saved query against
+ * the listings, each new or changed listing is run against the saved queries.
+ * Queries are bucketed by property type and city (either may be a wildcard),
+ * so a listing only visits the four buckets it can possibly match. Inside a
+ * bucket the criteria sit in primitive arrays ordered by minimum price, and the
+ * scan stops at the first query whose minimum exceeds the listing's price.
+ * Buckets are rebuilt copy-on-write, so matching never takes a lock.
+ */
+@Component
+public class SavedSearchIndex {
+    
+    private static final String ANY = "*";
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    
+    /**
+     * One saved search that matched a listing.
+     */
+    public static final class Match {
+        private final long savedSearchId;
+        private final long customerId;
+        
+        Match(long savedSearchId, long customerId) {
+            this.savedSearchId = savedSearchId;
+            this.customerId = customerId;
+        }
+        
+        public long getSavedSearchId() { return savedSearchId; }
+        public long getCustomerId() { return customerId; }
+    }
+    
+    // Criteria of one bucket, ordered by minimum price; absent bounds are open (-inf/+inf), absent radius is NaN
+    private static final class Bucket {
+        private final long[] searchIds;
+        private final long[] customerIds;
+        private final double[] minPrice;
+        private final double[] maxPrice;
+        private final double[] minSize;
+        private final double[] maxSize;
+        private final double[] latitude;
+        private final double[] longitude;
+        private final double[] radiusKm;
+        
+        Bucket(List<SavedSearch> searches) {
+            int n = searches.size();
+            searchIds = new long[n];
+            customerIds = new long[n];
+            minPrice = new double[n];
+            maxPrice = new double[n];
+            minSize = new double[n];
+            maxSize = new double[n];
+            latitude = new double[n];
+            longitude = new double[n];
+            radiusKm = new double[n];
+            for (int i = 0; i < n; i++) {
+                SavedSearch search = searches.get(i);
+                searchIds[i] = search.getSavedSearchId();
+                customerIds[i] = search.getCustomerId();
+                minPrice[i] = bound(search.getMinPrice(), Double.NEGATIVE_INFINITY);
+                maxPrice[i] = bound(search.getMaxPrice(), Double.POSITIVE_INFINITY);
+                minSize[i] = bound(search.getMinSize(), Double.NEGATIVE_INFINITY);
+                maxSize[i] = bound(search.getMaxSize(), Double.POSITIVE_INFINITY);
+                boolean hasRadius = search.getRadiusKm() != null && search.getLatitude() != null
+                        && search.getLongitude() != null;
+                latitude[i] = hasRadius ? search.getLatitude().doubleValue() : Double.NaN;
+                longitude[i] = hasRadius ? search.getLongitude().doubleValue() : Double.NaN;
+                radiusKm[i] = hasRadius ? search.getRadiusKm().doubleValue() : Double.NaN;
+            }
+        }
+        
+        void collect(double price, double size, double lat, double lon, List<Match> matches) {
+            for (int i = 0; i < searchIds.length; i++) {
+                if (minPrice[i] > price) {
+                    // Sorted by minimum price: nothing further along can match
+                    return;
+                }
+                if (price > maxPrice[i]) {
+                    continue;
+                }
+                boolean sizeBounded = minSize[i] != Double.NEGATIVE_INFINITY || maxSize[i] != Double.POSITIVE_INFINITY;
+                if (sizeBounded && (Double.isNaN(size) || size < minSize[i] || size > maxSize[i])) {
+                    continue;
+                }
+                if (!Double.isNaN(radiusKm[i])
+                        && (Double.isNaN(lat) || distanceKm(latitude[i], longitude[i], lat, lon) > radiusKm[i])) {
+                    continue;
+                }
+                matches.add(new Match(searchIds[i], customerIds[i]));
+            }
+        }
+    }
+    
+    // Source of truth for the buckets, guarded by this; readers only see the published snapshot
+    private final Map<String, Map<Long, SavedSearch>> searchesByBucket = new HashMap<>();
+    private final Map<Long, String> bucketBySearch = new HashMap<>();
+    private volatile Map<String, Bucket> buckets = Collections.emptyMap();
+    
+    public synchronized void rebuild(List<SavedSearch> activeSearches) {
+        searchesByBucket.clear();
+        bucketBySearch.clear();
+        for (SavedSearch search : activeSearches) {
+            String key = bucketKey(search.getPropertyType(), search.getCity());
+            searchesByBucket.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(search.getSavedSearchId(), search);
+            bucketBySearch.put(search.getSavedSearchId(), key);
+        }
+        Map<String, Bucket> rebuilt = new HashMap<>();
+        for (Map.Entry<String, Map<Long, SavedSearch>> entry : searchesByBucket.entrySet()) {
+            rebuilt.put(entry.getKey(), newBucket(entry.getValue()));
+        }
+        buckets = rebuilt;
+    }
+    
+    public synchronized void put(SavedSearch search) {
+        remove(search.getSavedSearchId());
+        if (!Boolean.TRUE.equals(search.getIsActive())) {
+            return;
+        }
+        String key = bucketKey(search.getPropertyType(), search.getCity());
+        Map<Long, SavedSearch> searches = searchesByBucket.computeIfAbsent(key, k -> new LinkedHashMap<>());
+        searches.put(search.getSavedSearchId(), search);
+        bucketBySearch.put(search.getSavedSearchId(), key);
+        publish(key, searches);
+    }
+    
+    public synchronized void remove(Long savedSearchId) {
+        String key = bucketBySearch.remove(savedSearchId);
+        if (key == null) {
+            return;
+        }
+        Map<Long, SavedSearch> searches = searchesByBucket.get(key);
+        searches.remove(savedSearchId);
+        if (searches.isEmpty()) {
+            searchesByBucket.remove(key);
+        }
+        publish(key, searches);
+    }
+    
+    /**
+     * Saved searches the listing satisfies. Inactive or unpriced listings match nothing.
+     */
+    public List<Match> match(Property property) {
+        if (!Boolean.TRUE.equals(property.getIsActive()) || property.getPrice() == null) {
+            return Collections.emptyList();
+        }
+        Map<String, Bucket> current = buckets;
+        if (current.isEmpty()) {
+            return Collections.emptyList();
+        }
+        double price = property.getPrice().doubleValue();
+        double size = bound(property.getPropertySize(), Double.NaN);
+        double lat = bound(property.getLatitude(), Double.NaN);
+        double lon = bound(property.getLongitude(), Double.NaN);
+        String type = property.getPropertyType() == null ? ANY : property.getPropertyType().name();
+        String city = normalizeCity(property.getCity());
+        
+        List<Match> matches = new ArrayList<>();
+        // The exact bucket plus its wildcard variants, each visited once
+        for (String typeKey : ANY.equals(type) ? new String[] {ANY} : new String[] {type, ANY}) {
+            for (String cityKey : ANY.equals(city) ? new String[] {ANY} : new String[] {city, ANY}) {
+                Bucket bucket = current.get(typeKey + "|" + cityKey);
+                if (bucket != null) {
+                    bucket.collect(price, size, lat, lon, matches);
+                }
+            }
+        }
+        return matches;
+    }
+    
+    public synchronized int size() {
+        return bucketBySearch.size();
+    }
+    
+    private void publish(String key, Map<Long, SavedSearch> searches) {
+        Map<String, Bucket> updated = new HashMap<>(buckets);
+        if (searches.isEmpty()) {
+            updated.remove(key);
+        } else {
+            updated.put(key, newBucket(searches));
+        }
+        buckets = updated;
+    }
+    
+    private static Bucket newBucket(Map<Long, SavedSearch> searches) {
+        List<SavedSearch> ordered = new ArrayList<>(searches.values());
+        ordered.sort(Comparator.comparingDouble(search -> bound(search.getMinPrice(), Double.NEGATIVE_INFINITY)));
+        return new Bucket(ordered);
+    }
+    
+    private static String bucketKey(PropertyType type, String city) {
+        return (type == null ? ANY : type.name()) + "|" + normalizeCity(city);
+    }
+    
+    private static String normalizeCity(String city) {
+        if (city == null || city.isBlank()) {
+            return ANY;
+        }
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static double bound(BigDecimal value, double absent) {
+        return value == null ? absent : value.doubleValue();
+    }
+    
+    private static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,325 @@
+package com.propertyapp.index;
+
+import com.propertyapp.model.Property;
+import com.propertyapp.model.PropertyType;
+import com.propertyapp.service.PropertyChangeListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Nearest-neighbour lookup for the "similar properties" strip. Each active
+ * listing is reduced to a feature vector (log price, log size, coordinates)
+ * stored in primitive arrays, partitioned by property type and city. A query
+ * scans the listing's own partition and only widens to the same type in other
+ * cities when that partition cannot fill the result.
+ */
+@Component
+public class SimilarListingsIndex implements PropertyChangeListener {
+    
+    // Feature scales: differences of this size count as one unit of distance
+    private static final double LOG_PRICE_SCALE = Math.log(1.25);
+    private static final double LOG_SIZE_SCALE = Math.log(1.35);
+    private static final double DISTANCE_SCALE_KM = 5.0;
+    // Cost of a feature that is missing on either side
+    private static final double MISSING_FEATURE_PENALTY = 1.0;
+    
+    private static final double KM_PER_DEGREE = 111.32;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Partition> partitions = new HashMap<>();
+    private final Map<Long, Slot> slots = new HashMap<>();
+    
+    // Column store for one (type, city) partition; removal swaps the last row into the hole
+    private static final class Partition {
+        private long[] ids = new long[8];
+        private float[] logPrice = new float[8];
+        private float[] logSize = new float[8];
+        private float[] latitude = new float[8];
+        private float[] longitude = new float[8];
+        private int size;
+        
+        private final int type;
+        
+        Partition(int type) {
+            this.type = type;
+        }
+        
+        int add(long id, float price, float area, float lat, float lon) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                logPrice = Arrays.copyOf(logPrice, capacity);
+                logSize = Arrays.copyOf(logSize, capacity);
+                latitude = Arrays.copyOf(latitude, capacity);
+                longitude = Arrays.copyOf(longitude, capacity);
+            }
+            ids[size] = id;
+            logPrice[size] = price;
+            logSize[size] = area;
+            latitude[size] = lat;
+            longitude[size] = lon;
+            return size++;
+        }
+        
+        // Returns the ID moved into the freed row, or -1 when the last row was removed
+        long removeAt(int row) {
+            int last = --size;
+            if (row == last) {
+                return -1;
+            }
+            ids[row] = ids[last];
+            logPrice[row] = logPrice[last];
+            logSize[row] = logSize[last];
+            latitude[row] = latitude[last];
+            longitude[row] = longitude[last];
+            return ids[row];
+        }
+    }
+    
+    private static final class Slot {
+        private final String partitionKey;
+        private int row;
+        
+        Slot(String partitionKey, int row) {
+            this.partitionKey = partitionKey;
+            this.row = row;
+        }
+    }
+    
+    @Override
+    public void rebuild(List<Property> activeProperties) {
+        lock.writeLock().lock();
+        try {
+            partitions.clear();
+            slots.clear();
+            for (Property property : activeProperties) {
+                addLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void propertySaved(Property property, boolean created) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(property.getPropertyId());
+            if (Boolean.TRUE.equals(property.getIsActive())) {
+                addLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void propertyRemoved(Property property) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(property.getPropertyId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * IDs of the {@code k} listings most similar to the given one, closest
+     * first, or null when the listing is not an active, indexed listing.
+     */
+    public long[] findSimilar(long propertyId, int k) {
+        lock.readLock().lock();
+        try {
+            Slot slot = slots.get(propertyId);
+            if (slot == null) {
+                return null;
+            }
+            Partition home = partitions.get(slot.partitionKey);
+            int row = slot.row;
+            float price = home.logPrice[row];
+            float area = home.logSize[row];
+            float lat = home.latitude[row];
+            float lon = home.longitude[row];
+            double cosLatitude = Float.isNaN(lat) ? 1.0 : Math.cos(Math.toRadians(lat));
+            
+            TopK top = new TopK(k);
+            scan(home, propertyId, price, area, lat, lon, cosLatitude, top);
+            if (top.size < k) {
+                for (Partition partition : partitions.values()) {
+                    if (partition != home && partition.type == home.type) {
+                        scan(partition, propertyId, price, area, lat, lon, cosLatitude, top);
+                    }
+                }
+            }
+            return top.sortedIds();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static void scan(Partition partition, long excludeId, float price, float area, float lat, float lon,
+                             double cosLatitude, TopK top) {
+        long[] ids = partition.ids;
+        float[] prices = partition.logPrice;
+        float[] sizes = partition.logSize;
+        float[] lats = partition.latitude;
+        float[] lons = partition.longitude;
+        for (int i = 0; i < partition.size; i++) {
+            if (ids[i] == excludeId) {
+                continue;
+            }
+            double dp = (prices[i] - price) / LOG_PRICE_SCALE;
+            double distance = dp * dp;
+            
+            if (Float.isNaN(area) || Float.isNaN(sizes[i])) {
+                distance += MISSING_FEATURE_PENALTY;
+            } else {
+                double ds = (sizes[i] - area) / LOG_SIZE_SCALE;
+                distance += ds * ds;
+            }
+            
+            if (Float.isNaN(lat) || Float.isNaN(lats[i])) {
+                distance += MISSING_FEATURE_PENALTY;
+            } else {
+                // Equirectangular approximation; plenty accurate at neighbourhood scale
+                double dy = (lats[i] - lat) * KM_PER_DEGREE / DISTANCE_SCALE_KM;
+                double dx = (lons[i] - lon) * KM_PER_DEGREE * cosLatitude / DISTANCE_SCALE_KM;
+                distance += dx * dx + dy * dy;
+            }
+            top.offer(ids[i], distance);
+        }
+    }
+    
+    private void addLocked(Property property) {
+        if (property.getPrice() == null || property.getPrice().signum() <= 0) {
+            return;
+        }
+        int type = property.getPropertyType() == null ? -1 : property.getPropertyType().ordinal();
+        String key = partitionKey(property.getPropertyType(), property.getCity());
+        Partition partition = partitions.computeIfAbsent(key, k -> new Partition(type));
+        int row = partition.add(property.getPropertyId(),
+                (float) Math.log(property.getPrice().doubleValue()),
+                logOrNaN(property.getPropertySize()),
+                property.getLatitude() == null ? Float.NaN : property.getLatitude().floatValue(),
+                property.getLongitude() == null ? Float.NaN : property.getLongitude().floatValue());
+        slots.put(property.getPropertyId(), new Slot(key, row));
+    }
+    
+    private void removeLocked(Long propertyId) {
+        Slot slot = slots.remove(propertyId);
+        if (slot == null) {
+            return;
+        }
+        Partition partition = partitions.get(slot.partitionKey);
+        long moved = partition.removeAt(slot.row);
+        if (moved >= 0) {
+            slots.get(moved).row = slot.row;
+        }
+        if (partition.size == 0) {
+            partitions.remove(slot.partitionKey);
+        }
+    }
+    
+    private static float logOrNaN(BigDecimal value) {
+        return value == null || value.signum() <= 0 ? Float.NaN : (float) Math.log(value.doubleValue());
+    }
+    
+    private static String partitionKey(PropertyType type, String city) {
+        return (type == null ? "" : type.name()) + "|" + (city == null ? "" : city.trim().toLowerCase(Locale.ROOT));
+    }
+    
+    // Bounded max-heap on distance, so the worst of the current best k is evicted first
+    private static final class TopK {
+        private final long[] ids;
+        private final double[] distances;
+        private int size;
+        
+        TopK(int k) {
+            this.ids = new long[Math.max(1, k)];
+            this.distances = new double[Math.max(1, k)];
+        }
+        
+        void offer(long id, double distance) {
+            if (size < ids.length) {
+                ids[size] = id;
+                distances[size] = distance;
+                siftUp(size++);
+            } else if (distance < distances[0]) {
+                ids[0] = id;
+                distances[0] = distance;
+                siftDown(0);
+            }
+        }
+        
+        long[] sortedIds() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int byDistance = Double.compare(distances[a], distances[b]);
+                return byDistance != 0 ? byDistance : Long.compare(ids[b], ids[a]);
+            });
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = ids[order[i]];
+            }
+            return sorted;
+        }
+        
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (distances[parent] >= distances[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+        
+        private void siftDown(int i) {
+            while (true) {
+                int largest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && distances[left] > distances[largest]) {
+                    largest = left;
+                }
+                if (right < size && distances[right] > distances[largest]) {
+                    largest = right;
+                }
+                if (largest == i) {
+                    return;
+                }
+                swap(i, largest);
+                i = largest;
+            }
+        }
+        
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double distance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = distance;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.propertyapp.index;
+
+import com.propertyapp.dto.RankingQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Full-text relevance from {@link PropertyTextIndex}, relative to the best
+ * match for the query; only applies when the query has text.
+ */
+@Component
+public class TextRelevanceSignal implements RankingSignal {
+    
+    @Value("${property.ranking.weights.text:3.0}")
+    private double weight;
+    
+    @Override
+    public String name() {
+        return "text";
+    }
+    
+    @Override
+    public double weight() {
+        return weight;
+    }
+    
+    @Override
+    public Scorer prepare(RankingQuery query, long nowMillis) {
+        if (query.getQ() == null || query.getQ().isBlank()) {
+            return null;
+        }
+        return ListingFeatures::textScore;
+    }
+}
@@ -7,18 +7,25 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+// Dynamic update: an UPDATE only writes the columns that changed, so a price
+// edit does not rewrite description or property_images
 @Entity
 @Table(name = "Properties")
+@DynamicUpdate
 public class Property {
     
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts; must match Properties_Seq INCREMENT BY.
+    // Databases created with an IDENTITY property_id need the migration in database/schema.sql first.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "property_seq")
+    @SequenceGenerator(name = "property_seq", sequenceName = "Properties_Seq", allocationSize = 50)
     @Column(name = "property_id")
     private Long propertyId;
     
@@ -90,6 +97,11 @@ public class Property {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic lock; bumped by every update, which fails if another edit committed first
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     // Relationships
     @JsonIgnore
     @OneToMany(mappedBy = "property", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -165,6 +177,9 @@ public class Property {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     public List<Inquiry> getInquiries() { return inquiries; }
     public void setInquiries(List<Inquiry> inquiries) { this.inquiries = inquiries; }
 }
@@ -0,0 +1,113 @@
+package com.propertyapp.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "SavedSearches")
+public class SavedSearch {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "saved_search_id")
+    private Long savedSearchId;
+    
+    // Kept as a plain column: the percolator index and alert delivery only ever need the ID
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+    
+    @Column(name = "name", length = 100)
+    private String name;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "property_type")
+    private PropertyType propertyType;
+    
+    @Column(name = "city", length = 100)
+    private String city;
+    
+    @Column(name = "min_price", precision = 15, scale = 2)
+    private BigDecimal minPrice;
+    
+    @Column(name = "max_price", precision = 15, scale = 2)
+    private BigDecimal maxPrice;
+    
+    @Column(name = "min_size", precision = 10, scale = 2)
+    private BigDecimal minSize;
+    
+    @Column(name = "max_size", precision = 10, scale = 2)
+    private BigDecimal maxSize;
+    
+    @Column(name = "latitude", precision = 10, scale = 8)
+    private BigDecimal latitude;
+    
+    @Column(name = "longitude", precision = 11, scale = 8)
+    private BigDecimal longitude;
+    
+    @Column(name = "radius_km", precision = 6, scale = 2)
+    private BigDecimal radiusKm;
+    
+    @Column(name = "is_active")
+    private Boolean isActive = true;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public SavedSearch() {}
+    
+    // Getters and Setters
+    public Long getSavedSearchId() { return savedSearchId; }
+    public void setSavedSearchId(Long savedSearchId) { this.savedSearchId = savedSearchId; }
+    
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public PropertyType getPropertyType() { return propertyType; }
+    public void setPropertyType(PropertyType propertyType) { this.propertyType = propertyType; }
+    
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+    
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+    
+    public BigDecimal getMinSize() { return minSize; }
+    public void setMinSize(BigDecimal minSize) { this.minSize = minSize; }
+    
+    public BigDecimal getMaxSize() { return maxSize; }
+    public void setMaxSize(BigDecimal maxSize) { this.maxSize = maxSize; }
+    
+    public BigDecimal getLatitude() { return latitude; }
+    public void setLatitude(BigDecimal latitude) { this.latitude = latitude; }
+    
+    public BigDecimal getLongitude() { return longitude; }
+    public void setLongitude(BigDecimal longitude) { this.longitude = longitude; }
+    
+    public BigDecimal getRadiusKm() { return radiusKm; }
+    public void setRadiusKm(BigDecimal radiusKm) { this.radiusKm = radiusKm; }
+    
+    public Boolean getIsActive() { return isActive; }
+    public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
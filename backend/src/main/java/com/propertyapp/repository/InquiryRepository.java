@@ -46,4 +46,8 @@ public interface InquiryRepository extends JpaRepository<Inquiry, Long> {
     
     @Query("SELECT COUNT(i) FROM Inquiry i WHERE i.customer = :customer")
     Long countInquiriesByCustomer(@Param("customer") User customer);
+    
+    // [propertyId, inquiry count] rows; feeds the popularity signal of the listing ranker
+    @Query("SELECT i.property.propertyId, COUNT(i) FROM Inquiry i GROUP BY i.property.propertyId")
+    List<Object[]> countInquiriesPerProperty();
 }
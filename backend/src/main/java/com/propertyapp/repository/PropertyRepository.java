@@ -1,18 +1,22 @@
 package com.propertyapp.repository;
 
+import com.propertyapp.dto.PropertyChange;
+import com.propertyapp.dto.PropertySummary;
 import com.propertyapp.model.Property;
 import com.propertyapp.model.PropertyType;
 import com.propertyapp.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, Long> {
+public interface PropertyRepository extends JpaRepository<Property, Long>, PropertySearchRepository {
     
     List<Property> findBySeller(User seller);
     
@@ -24,35 +28,63 @@ public interface PropertyRepository extends JpaRepository<Property, Long> {
     
     List<Property> findByIsActiveTrue();
     
-    @Query("SELECT p FROM Property p WHERE p.seller = :seller AND p.isActive = true")
-    List<Property> findActivePropertiesBySeller(@Param("seller") User seller);
-    
-    @Query("SELECT p FROM Property p WHERE p.propertyType = :propertyType AND p.isActive = true")
-    List<Property> findActivePropertiesByType(@Param("propertyType") PropertyType propertyType);
-    
-    @Query("SELECT p FROM Property p WHERE p.city = :city AND p.isActive = true")
-    List<Property> findActivePropertiesByCity(@Param("city") String city);
-    
-    @Query("SELECT p FROM Property p WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.isActive = true")
-    List<Property> findActivePropertiesByPriceRange(@Param("minPrice") BigDecimal minPrice, 
-                                                   @Param("maxPrice") BigDecimal maxPrice);
-    
-    @Query("SELECT p FROM Property p WHERE p.propertyType = :propertyType AND p.city = :city AND p.isActive = true")
-    List<Property> findActivePropertiesByTypeAndCity(@Param("propertyType") PropertyType propertyType, 
-                                                    @Param("city") String city);
-    
-    @Query(value = "SELECT p.*, u.full_name as seller_name, u.mobile_number as seller_contact " +
-           "FROM Properties p " +
-           "INNER JOIN Users u ON p.seller_id = u.user_id " +
-           "WHERE p.is_active = 1 AND u.is_active = 1 " +
-           "AND (6371 * ACOS(COS(RADIANS(:latitude)) * COS(RADIANS(p.latitude)) * " +
-           "COS(RADIANS(p.longitude) - RADIANS(:longitude)) + " +
-           "SIN(RADIANS(:latitude)) * SIN(RADIANS(p.latitude)))) <= :radiusKm " +
-           "ORDER BY (6371 * ACOS(COS(RADIANS(:latitude)) * COS(RADIANS(p.latitude)) * " +
-           "COS(RADIANS(p.longitude) - RADIANS(:longitude)) + " +
-           "SIN(RADIANS(:latitude)) * SIN(RADIANS(p.latitude))))", 
-           nativeQuery = true)
-    List<Object[]> findNearbyProperties(@Param("latitude") BigDecimal latitude, 
-                                       @Param("longitude") BigDecimal longitude, 
-                                       @Param("radiusKm") BigDecimal radiusKm);
+    // Constructor projection for list endpoints: joins the seller and skips the NVARCHAR(MAX) columns
+    String SUMMARY_SELECT = "SELECT new com.propertyapp.dto.PropertySummary(p.propertyId, p.title, " +
+           "p.propertyType, p.price, p.propertySize, p.city, p.state, " +
+           "substring(p.propertyImages, 1, " + PropertySummary.IMAGES_PREFIX_LENGTH + "), " +
+           "s.fullName, p.createdAt) FROM Property p JOIN p.seller s ";
+    
+    // Rows without created_at are left out on every page: a cursor cannot be built from them, and the
+    // keyset comparison in findActiveFeedAfter already excludes them
+    @Query(SUMMARY_SELECT + "WHERE p.isActive = true AND p.createdAt IS NOT NULL ORDER BY p.createdAt DESC, p.propertyId DESC")
+    List<PropertySummary> findActiveFeedFirstPage(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.isActive = true " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.propertyId < :propertyId)) " +
+           "ORDER BY p.createdAt DESC, p.propertyId DESC")
+    List<PropertySummary> findActiveFeedAfter(@Param("createdAt") LocalDateTime createdAt,
+                                              @Param("propertyId") Long propertyId,
+                                              Pageable pageable);
+    
+    // Delta sync: every row touched in (cursor, upTo], inactive rows included as tombstones; walks IX_Properties_UpdatedAt
+    String CHANGE_SELECT = "SELECT new com.propertyapp.dto.PropertyChange(p.propertyId, p.isActive, p.updatedAt, " +
+           "p.title, p.propertyType, p.price, p.propertySize, p.city, p.state, " +
+           "substring(p.propertyImages, 1, " + PropertySummary.IMAGES_PREFIX_LENGTH + "), " +
+           "s.fullName, p.createdAt) FROM Property p JOIN p.seller s ";
+    
+    @Query(CHANGE_SELECT + "WHERE p.updatedAt <= :upTo ORDER BY p.updatedAt ASC, p.propertyId ASC")
+    List<PropertyChange> findChangesFirstPage(@Param("upTo") LocalDateTime upTo, Pageable pageable);
+    
+    @Query(CHANGE_SELECT + "WHERE p.updatedAt <= :upTo " +
+           "AND (p.updatedAt > :updatedAt OR (p.updatedAt = :updatedAt AND p.propertyId > :propertyId)) " +
+           "ORDER BY p.updatedAt ASC, p.propertyId ASC")
+    List<PropertyChange> findChangesAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                          @Param("propertyId") Long propertyId,
+                                          @Param("upTo") LocalDateTime upTo,
+                                          Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.seller = :seller AND p.isActive = true")
+    List<PropertySummary> findActivePropertiesBySeller(@Param("seller") User seller);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.propertyType = :propertyType AND p.isActive = true")
+    List<PropertySummary> findActivePropertiesByType(@Param("propertyType") PropertyType propertyType);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.city = :city AND p.isActive = true")
+    List<PropertySummary> findActivePropertiesByCity(@Param("city") String city);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.propertyType = :propertyType AND p.city = :city AND p.isActive = true")
+    List<PropertySummary> findActivePropertiesByTypeAndCity(@Param("propertyType") PropertyType propertyType, 
+                                                           @Param("city") String city);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.propertyId IN :propertyIds AND p.isActive = true")
+    List<PropertySummary> findActiveSummariesByIds(@Param("propertyIds") List<Long> propertyIds);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.propertyId IN :propertyIds AND p.isActive = true AND s.isActive = true")
+    List<PropertySummary> findActiveSummariesWithActiveSellerByIds(@Param("propertyIds") List<Long> propertyIds);
+    
+    @Query("SELECT p FROM Property p JOIN FETCH p.seller WHERE p.propertyId = :propertyId")
+    Optional<Property> findByIdWithSeller(@Param("propertyId") Long propertyId);
+    
+    @Query("SELECT p FROM Property p JOIN FETCH p.seller WHERE p.propertyId IN :propertyIds")
+    List<Property> findAllWithSellerByIds(@Param("propertyIds") List<Long> propertyIds);
 }
@@ -0,0 +1,11 @@
+package com.propertyapp.repository;
+
+import com.propertyapp.dto.PropertySearchCriteria;
+import com.propertyapp.dto.PropertySummary;
+
+import java.util.List;
+
+public interface PropertySearchRepository {
+    
+    List<PropertySummary> searchActiveProperties(PropertySearchCriteria criteria, int offset, int limit);
+}
@@ -0,0 +1,100 @@
+package com.propertyapp.repository;
+
+import com.propertyapp.dto.PropertySearchCriteria;
+import com.propertyapp.dto.PropertySummary;
+import com.propertyapp.model.Property;
+import com.propertyapp.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a single SQL statement from whichever search filters are present.
+ * Only plain equality and range predicates are emitted (no functions wrapped
+ * around columns) so SQL Server can seek on the Properties filter indexes.
+ */
+public class PropertySearchRepositoryImpl implements PropertySearchRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<PropertySummary> searchActiveProperties(PropertySearchCriteria criteria, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PropertySummary> query = cb.createQuery(PropertySummary.class);
+        Root<Property> property = query.from(Property.class);
+        Join<Property, User> seller = property.join("seller");
+        
+        // Same projection as PropertyRepository.SUMMARY_SELECT
+        query.select(cb.construct(PropertySummary.class,
+                        property.get("propertyId"), property.get("title"), property.get("propertyType"),
+                        property.get("price"), property.get("propertySize"), property.get("city"),
+                        property.get("state"),
+                        cb.substring(property.get("propertyImages"), 1, PropertySummary.IMAGES_PREFIX_LENGTH),
+                        seller.get("fullName"), property.get("createdAt")))
+                .where(buildPredicates(cb, property, criteria))
+                .orderBy(buildOrder(cb, property, criteria.getSort()));
+        
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    static Predicate[] buildPredicates(CriteriaBuilder cb, Root<Property> property, PropertySearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isTrue(property.get("isActive")));
+        
+        if (criteria.getPropertyType() != null) {
+            predicates.add(cb.equal(property.get("propertyType"), criteria.getPropertyType()));
+        }
+        if (hasText(criteria.getCity())) {
+            predicates.add(cb.equal(property.get("city"), criteria.getCity().trim()));
+        }
+        if (hasText(criteria.getState())) {
+            predicates.add(cb.equal(property.get("state"), criteria.getState().trim()));
+        }
+        if (hasText(criteria.getPincode())) {
+            predicates.add(cb.equal(property.get("pincode"), criteria.getPincode().trim()));
+        }
+        if (criteria.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(property.get("price"), criteria.getMinPrice()));
+        }
+        if (criteria.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(property.get("price"), criteria.getMaxPrice()));
+        }
+        if (criteria.getMinSize() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(property.get("propertySize"), criteria.getMinSize()));
+        }
+        if (criteria.getMaxSize() != null) {
+            predicates.add(cb.lessThanOrEqualTo(property.get("propertySize"), criteria.getMaxSize()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+    
+    static List<Order> buildOrder(CriteriaBuilder cb, Root<Property> property, PropertySearchCriteria.Sort sort) {
+        List<Order> order = new ArrayList<>();
+        switch (sort == null ? PropertySearchCriteria.Sort.NEWEST : sort) {
+            case PRICE_ASC -> order.add(cb.asc(property.get("price")));
+            case PRICE_DESC -> order.add(cb.desc(property.get("price")));
+            case SIZE_ASC -> order.add(cb.asc(property.get("propertySize")));
+            case SIZE_DESC -> order.add(cb.desc(property.get("propertySize")));
+            default -> order.add(cb.desc(property.get("createdAt")));
+        }
+        // Tie-break on the primary key so paging is stable across requests
+        order.add(cb.desc(property.get("propertyId")));
+        return order;
+    }
+    
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
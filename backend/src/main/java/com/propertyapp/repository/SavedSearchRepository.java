@@ -0,0 +1,17 @@
+package com.propertyapp.repository;
+
+import com.propertyapp.model.SavedSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+    
+    List<SavedSearch> findByIsActiveTrue();
+    
+    List<SavedSearch> findByCustomerIdAndIsActiveTrueOrderByCreatedAtDesc(Long customerId);
+    
+    long countByCustomerIdAndIsActiveTrue(Long customerId);
+}
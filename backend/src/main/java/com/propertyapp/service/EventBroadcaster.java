@@ -0,0 +1,284 @@
+package com.propertyapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.propertyapp.dto.InquiryEvent;
+import com.propertyapp.dto.ListingEvent;
+import com.propertyapp.model.Inquiry;
+import com.propertyapp.model.Property;
+import com.propertyapp.model.PropertyType;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans listing and inquiry events out to server-sent event subscribers.
+ * Publishing never touches a socket: each event is serialised once and offered
+ * to every interested subscriber's bounded buffer, and a small sender pool
+ * drains the buffers. A subscriber whose buffer overflows is disconnected, so
+ * one slow client cannot hold up the publisher or the other subscribers.
+ */
+@Service
+public class EventBroadcaster implements PropertyChangeListener {
+    
+    private static final String LISTING_EVENT = "listing";
+    private static final String INQUIRY_EVENT = "inquiry";
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final AtomicLong eventIds = new AtomicLong();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final String city;
+        private final PropertyType propertyType;
+        private final Long userId;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> buffer;
+        // Set while a sender owns this subscriber, so frames are written by one thread in order
+        private final AtomicBoolean draining = new AtomicBoolean();
+        
+        Subscriber(SseEmitter emitter, String city, PropertyType propertyType, Long userId) {
+            this.emitter = emitter;
+            this.city = city;
+            this.propertyType = propertyType;
+            this.userId = userId;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+        
+        boolean wants(ListingEvent event) {
+            return (propertyType == null || propertyType == event.getPropertyType())
+                    && (city == null || (event.getCity() != null && city.equals(normalizeCity(event.getCity()))));
+        }
+    }
+    
+    public EventBroadcaster(@Value("${property.events.sender-threads:4}") int senderThreads,
+                            @Value("${property.events.buffer-size:64}") int bufferSize,
+                            @Value("${property.events.max-subscribers:10000}") int maxSubscribers,
+                            @Value("${property.events.timeout-ms:1800000}") long timeoutMillis) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    /**
+     * Opens an event stream. Listing events are filtered by city and type when
+     * given; inquiry events are only sent when {@code userId} is the customer
+     * or seller of the inquiry.
+     */
+    public SseEmitter subscribe(String city, PropertyType propertyType, Long userId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many open event streams");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        String normalizedCity = city == null || city.isBlank() ? null : normalizeCity(city);
+        Subscriber subscriber = new Subscriber(emitter, normalizedCity, propertyType, userId);
+        emitter.onCompletion(() -> close(subscriber, false));
+        emitter.onTimeout(() -> close(subscriber, true));
+        emitter.onError(error -> close(subscriber, true));
+        subscribers.add(subscriber);
+        // Commits the response headers so the client sees the stream open immediately
+        enqueue(subscriber, SseEmitter.event().comment("connected").build());
+        return emitter;
+    }
+    
+    @Override
+    public void propertySaved(Property property, boolean created) {
+        ListingEvent.Action action = created ? ListingEvent.Action.CREATED
+                : Boolean.TRUE.equals(property.getIsActive()) ? ListingEvent.Action.UPDATED
+                : ListingEvent.Action.DEACTIVATED;
+        publishListing(new ListingEvent(action, property));
+    }
+    
+    @Override
+    public void propertyRemoved(Property property) {
+        publishListing(new ListingEvent(ListingEvent.Action.DEACTIVATED, property));
+    }
+    
+    /**
+     * Notifies the customer and seller of an inquiry that it was created or its
+     * status changed. Must be called inside the transaction that changed it; the
+     * event is sent only once that transaction commits.
+     */
+    public void inquiryChanged(Inquiry inquiry) {
+        // Read the lazy associations now, while the persistence context is still open
+        InquiryEvent event = new InquiryEvent(inquiry);
+        Long customerId = inquiry.getCustomer().getUserId();
+        Long sellerId = inquiry.getSeller().getUserId();
+        afterCommit(() -> {
+            Set<DataWithMediaType> frame = frame(INQUIRY_EVENT, event);
+            if (frame == null) {
+                return;
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.userId != null
+                        && (subscriber.userId.equals(customerId) || subscriber.userId.equals(sellerId))) {
+                    enqueue(subscriber, frame);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Keeps idle streams alive through proxies and flushes out clients that
+     * have gone away without closing the connection.
+     */
+    @Scheduled(fixedDelayString = "${property.events.heartbeat-ms:20000}")
+    public void sendHeartbeats() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, heartbeat);
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscribers.size());
+        stats.put("maxSubscribers", maxSubscribers);
+        stats.put("bufferSize", bufferSize);
+        stats.put("eventsPublished", eventIds.get());
+        stats.put("droppedSubscribers", droppedSubscribers.get());
+        return stats;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            close(subscriber, true);
+        }
+        senders.shutdownNow();
+    }
+    
+    private void publishListing(ListingEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> frame = frame(LISTING_EVENT, event);
+        if (frame == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.wants(event)) {
+                enqueue(subscriber, frame);
+            }
+        }
+    }
+    
+    // Serialised once per event; the resulting frame is shared by every subscriber
+    private Set<DataWithMediaType> frame(String name, Object payload) {
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(eventIds.incrementAndGet()))
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(payload), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            System.err.println("Failed to serialise " + name + " event: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> frame) {
+        if (!subscriber.buffer.offer(frame)) {
+            // The client is not keeping up; cut it loose rather than buffer without limit
+            droppedSubscribers.incrementAndGet();
+            close(subscriber, true);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+    
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<DataWithMediaType> frame;
+            while ((frame = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(frame);
+            }
+        } catch (Exception e) {
+            close(subscriber, true);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A frame may have arrived after the last poll but before the flag was cleared
+        if (!subscriber.buffer.isEmpty() && subscribers.contains(subscriber)) {
+            scheduleDrain(subscriber);
+        }
+    }
+    
+    private void close(Subscriber subscriber, boolean completeEmitter) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        subscriber.buffer.clear();
+        if (completeEmitter) {
+            try {
+                subscriber.emitter.complete();
+            } catch (Exception e) {
+                // Connection already gone
+            }
+        }
+    }
+    
+    private static String normalizeCity(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.propertyapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image store under {@code file.upload.dir}. Uploads are
+ * streamed through a SHA-256 digest into a temporary file and then moved to
+ * {@code images/<first two hex digits>/<hash>.<ext>}, so the same picture
+ * uploaded twice is stored once and a stored file never changes.
+ */
+@Service
+public class ImageStorageService {
+    
+    // <hash>.<ext> for originals, <hash>_<rendition>.jpg for generated renditions
+    private static final Pattern IMAGE_NAME = Pattern.compile("[0-9a-f]{64}(_[a-z]+)?\\.(jpg|png|gif|webp)");
+    
+    private final Path imageRoot;
+    private final Path tempDir;
+    private final String publicPath;
+    
+    public ImageStorageService(@Value("${file.upload.dir:./uploads}") String uploadDir,
+                               @Value("${server.servlet.context-path:}") String contextPath) {
+        this.imageRoot = Paths.get(uploadDir, "images").toAbsolutePath().normalize();
+        this.tempDir = imageRoot.resolve("tmp");
+        this.publicPath = contextPath + "/images/";
+        try {
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create image directory " + imageRoot, e);
+        }
+    }
+    
+    /**
+     * Stores an uploaded image and returns its file name ({@code <hash>.<ext>}).
+     * The format is detected from the file's leading bytes, not from the
+     * client-supplied content type.
+     */
+    public String store(InputStream content) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(content);
+        String extension = detectExtension(in);
+        if (extension == null) {
+            throw new IllegalArgumentException("Only JPEG, PNG, GIF and WebP images are supported");
+        }
+        
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            try (DigestInputStream hashing = new DigestInputStream(in, digest)) {
+                Files.copy(hashing, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String name = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+            Path target = resolve(name);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(temp, target);
+            }
+            return name;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    /**
+     * Path of a stored image, or null when the name is not a valid image name.
+     * Names are validated against the hash pattern so they can never escape the
+     * image directory.
+     */
+    public Path resolve(String name) {
+        if (name == null || !IMAGE_NAME.matcher(name).matches()) {
+            return null;
+        }
+        return imageRoot.resolve(name.substring(0, 2)).resolve(name);
+    }
+    
+    public String publicUrl(String name) {
+        return publicPath + name;
+    }
+    
+    /**
+     * Stored image name behind a URL produced by {@link #publicUrl}, or null for
+     * URLs that point somewhere else.
+     */
+    public String nameFromUrl(String url) {
+        if (url == null || !url.startsWith(publicPath)) {
+            return null;
+        }
+        String name = url.substring(publicPath.length());
+        return resolve(name) == null ? null : name;
+    }
+    
+    public Path newTempFile() throws IOException {
+        return Files.createTempFile(tempDir, "write-", ".part");
+    }
+    
+    /**
+     * Moves a fully written temporary file into the store under {@code name}.
+     * If the name already exists the temporary file is discarded.
+     */
+    public void publish(Path temp, String name) throws IOException {
+        Path target = resolve(name);
+        if (target == null) {
+            throw new IllegalArgumentException("Invalid image name: " + name);
+        }
+        try {
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(temp, target);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    public static String contentType(String name) {
+        String extension = name.substring(name.lastIndexOf('.') + 1);
+        switch (extension) {
+            case "png": return "image/png";
+            case "gif": return "image/gif";
+            case "webp": return "image/webp";
+            default: return "image/jpeg";
+        }
+    }
+    
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent upload of the same image won the race; its file is identical
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // Same as above
+            }
+        }
+    }
+    
+    private static String detectExtension(BufferedInputStream in) throws IOException {
+        byte[] header = new byte[12];
+        in.mark(header.length);
+        int read = in.readNBytes(header, 0, header.length);
+        in.reset();
+        
+        if (read >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if (read >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return "png";
+        }
+        if (read >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return "gif";
+        }
+        if (read >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "webp";
+        }
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.propertyapp.service;
 
 import com.propertyapp.dto.InquiryRequest;
+import com.propertyapp.index.ListingRanker;
 import com.propertyapp.model.Inquiry;
 import com.propertyapp.model.InquiryStatus;
 import com.propertyapp.model.Property;
@@ -32,6 +33,12 @@ public class InquiryService {
     @Autowired
     private SMSService smsService;
     
+    @Autowired
+    private EventBroadcaster eventBroadcaster;
+    
+    @Autowired
+    private ListingRanker listingRanker;
+    
     public Inquiry createInquiry(Long customerId, InquiryRequest inquiryRequest) {
         Optional<User> customer = userRepository.findById(customerId);
         if (!customer.isPresent()) {
@@ -62,6 +69,8 @@ public class InquiryService {
         inquiry.setInquiryStatus(InquiryStatus.OPEN);
         
         Inquiry savedInquiry = inquiryRepository.save(inquiry);
+        eventBroadcaster.inquiryChanged(savedInquiry);
+        listingRanker.inquiryCreated(property.get().getPropertyId());
         
         // Send notification to seller
         try {
@@ -117,6 +126,7 @@ public class InquiryService {
         }
         
         Inquiry updatedInquiry = inquiryRepository.save(inquiry.get());
+        eventBroadcaster.inquiryChanged(updatedInquiry);
         
         // Send notification to customer
         try {
@@ -138,6 +148,7 @@ public class InquiryService {
         for (Inquiry inquiry : expiredInquiries) {
             inquiry.setInquiryStatus(InquiryStatus.EXPIRED);
             inquiryRepository.save(inquiry);
+            eventBroadcaster.inquiryChanged(inquiry);
         }
     }
     
@@ -0,0 +1,46 @@
+package com.propertyapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position over (timestamp, property_id). Clients must treat the
+ * encoded form as a black box; only this class knows its layout.
+ */
+public final class ListingCursor {
+    
+    private final LocalDateTime timestamp;
+    private final Long propertyId;
+    
+    public ListingCursor(LocalDateTime timestamp, Long propertyId) {
+        if (timestamp == null || propertyId == null) {
+            throw new IllegalArgumentException("Cursor needs a timestamp and a property ID");
+        }
+        this.timestamp = timestamp;
+        this.propertyId = propertyId;
+    }
+    
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public Long getPropertyId() { return propertyId; }
+    
+    public String encode() {
+        String raw = timestamp + "|" + propertyId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static ListingCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ListingCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
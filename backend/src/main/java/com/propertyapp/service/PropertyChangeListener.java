@@ -0,0 +1,30 @@
+package com.propertyapp.service;
+
+import com.propertyapp.model.Property;
+
+import java.util.List;
+
+/**
+ * Hook for in-memory read models that mirror the Properties table. Callbacks
+ * fire only after the surrounding transaction commits, so implementations never
+ * see a write that was rolled back. Implementations should read scalar columns
+ * only; the lazy seller association may no longer be initialisable.
+ */
+public interface PropertyChangeListener {
+    
+    default void rebuild(List<Property> activeProperties) {}
+    
+    void propertySaved(Property property, boolean created);
+    
+    /**
+     * Called once for a batch of newly inserted listings, such as a bulk import.
+     * Override when applying the batch in one step is cheaper than row by row.
+     */
+    default void propertiesCreated(List<Property> properties) {
+        for (Property property : properties) {
+            propertySaved(property, true);
+        }
+    }
+    
+    void propertyRemoved(Property property);
+}
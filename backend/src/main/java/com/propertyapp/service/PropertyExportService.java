@@ -0,0 +1,132 @@
+package com.propertyapp.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.propertyapp.model.PropertyType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams the active catalogue as newline-delimited JSON. Rows are read through
+ * a forward-only, read-only cursor and written straight to the output stream,
+ * so memory use does not grow with the size of the export.
+ */
+@Service
+public class PropertyExportService {
+    
+    private static final String EXPORT_COLUMNS = "p.property_id, p.seller_id, p.property_type, p.title, " +
+            "p.description, p.property_size, p.price, p.address, p.city, p.state, p.pincode, " +
+            "p.latitude, p.longitude, p.property_images, p.created_at, p.updated_at";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${property.export.fetch-size:500}")
+    private int fetchSize;
+    
+    public long exportActiveProperties(OutputStream out, LocalDateTime updatedSince,
+                                       PropertyType propertyType, String city) throws IOException {
+        StringBuilder sql = new StringBuilder("SELECT ").append(EXPORT_COLUMNS)
+                .append(" FROM Properties p WHERE p.is_active = 1");
+        List<Object> args = new ArrayList<>();
+        if (updatedSince != null) {
+            sql.append(" AND p.updated_at >= ?");
+            args.add(Timestamp.valueOf(updatedSince));
+        }
+        if (propertyType != null) {
+            sql.append(" AND p.property_type = ?");
+            args.add(propertyType.name());
+        }
+        if (city != null && !city.isBlank()) {
+            sql.append(" AND p.city = ?");
+            args.add(city.trim());
+        }
+        sql.append(" ORDER BY p.property_id");
+        
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        // NDJSON: one JSON object per line, no enclosing array
+        generator.setRootValueSeparator(null);
+        long[] rows = {0};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    statement.setObject(i + 1, args.get(i));
+                }
+                return statement;
+            }, resultSet -> {
+                try {
+                    writeRow(generator, resultSet);
+                    rows[0]++;
+                } catch (IOException e) {
+                    // Usually the client went away; abort the query instead of draining the cursor
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.flush();
+        return rows[0];
+    }
+    
+    private static void writeRow(JsonGenerator generator, ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeNumberField("propertyId", rs.getLong("property_id"));
+        generator.writeNumberField("sellerId", rs.getLong("seller_id"));
+        generator.writeStringField("propertyType", rs.getString("property_type"));
+        generator.writeStringField("title", rs.getString("title"));
+        writeNullableString(generator, "description", rs.getString("description"));
+        writeNullableDecimal(generator, "propertySize", rs.getBigDecimal("property_size"));
+        writeNullableDecimal(generator, "price", rs.getBigDecimal("price"));
+        generator.writeStringField("address", rs.getString("address"));
+        generator.writeStringField("city", rs.getString("city"));
+        generator.writeStringField("state", rs.getString("state"));
+        generator.writeStringField("pincode", rs.getString("pincode"));
+        writeNullableDecimal(generator, "latitude", rs.getBigDecimal("latitude"));
+        writeNullableDecimal(generator, "longitude", rs.getBigDecimal("longitude"));
+        writeNullableString(generator, "propertyImages", rs.getString("property_images"));
+        writeNullableTimestamp(generator, "createdAt", rs.getTimestamp("created_at"));
+        writeNullableTimestamp(generator, "updatedAt", rs.getTimestamp("updated_at"));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+    
+    private static void writeNullableString(JsonGenerator generator, String field, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value);
+        }
+    }
+    
+    private static void writeNullableDecimal(JsonGenerator generator, String field, BigDecimal value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(field, value);
+        }
+    }
+    
+    private static void writeNullableTimestamp(JsonGenerator generator, String field, Timestamp value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value.toLocalDateTime().toString());
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.propertyapp.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.propertyapp.dto.BulkImportResult;
+import com.propertyapp.dto.PropertyRequest;
+import com.propertyapp.index.DuplicateListingIndex;
+import com.propertyapp.model.User;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk listing import. The request body is parsed and validated one row at a
+ * time; valid rows are buffered only until a batch is full and then inserted
+ * in their own transaction, so memory use is bounded by the batch size and a
+ * failing batch does not undo the batches before it.
+ */
+@Service
+public class PropertyImportService {
+    
+    // CSV header (case-insensitive, '_' and spaces ignored) -> PropertyRequest property
+    private static final Map<String, String> CSV_COLUMNS = new HashMap<>();
+    
+    static {
+        for (String field : new String[] {"propertyType", "title", "description", "propertySize", "price",
+                "address", "city", "state", "pincode", "latitude", "longitude", "propertyImages", "ptrDocument"}) {
+            CSV_COLUMNS.put(field.toLowerCase(Locale.ROOT), field);
+        }
+    }
+    
+    @Autowired
+    private PropertyService propertyService;
+    
+    @Autowired
+    private DuplicateListingIndex duplicateListingIndex;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Value("${property.import.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${property.import.max-rows:10000}")
+    private int maxRows;
+    
+    public BulkImportResult importJson(Long sellerId, InputStream in) throws IOException {
+        User seller = propertyService.findSeller(sellerId);
+        ImportRun run = new ImportRun(seller);
+        
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of listings");
+            }
+            int row = 0;
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new IllegalArgumentException("Unexpected end of input");
+                    }
+                    row++;
+                    if (row > maxRows) {
+                        run.result.addFailed(row, "Import is limited to " + maxRows + " rows");
+                        break;
+                    }
+                    JsonNode node = objectMapper.readTree(parser);
+                    try {
+                        run.accept(row, objectMapper.treeToValue(node, PropertyRequest.class));
+                    } catch (JsonProcessingException e) {
+                        run.result.addFailed(row, "Invalid value: " + e.getOriginalMessage());
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                // Malformed JSON: keep what was already imported and report where parsing stopped
+                run.result.addFailed(row + 1, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return run.finish();
+    }
+    
+    public BulkImportResult importCsv(Long sellerId, InputStream in) throws IOException {
+        User seller = propertyService.findSeller(sellerId);
+        ImportRun run = new ImportRun(seller);
+        
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        String[] fields = new String[header.size()];
+        for (int i = 0; i < header.size(); i++) {
+            String key = header.get(i).replace("\uFEFF", "").replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+            fields[i] = CSV_COLUMNS.get(key);
+            if (fields[i] == null) {
+                throw new IllegalArgumentException("Unknown CSV column: " + header.get(i));
+            }
+        }
+        
+        int row = 0;
+        List<String> record;
+        while ((record = readCsvRecord(reader)) != null) {
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            row++;
+            if (row > maxRows) {
+                run.result.addFailed(row, "Import is limited to " + maxRows + " rows");
+                break;
+            }
+            if (record.size() != fields.length) {
+                run.result.addFailed(row, "Expected " + fields.length + " columns but found " + record.size());
+                continue;
+            }
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < fields.length; i++) {
+                String value = record.get(i).trim();
+                if (!value.isEmpty()) {
+                    values.put(fields[i], value);
+                }
+            }
+            try {
+                run.accept(row, objectMapper.convertValue(values, PropertyRequest.class));
+            } catch (IllegalArgumentException e) {
+                run.result.addFailed(row, "Invalid value: " + rootMessage(e));
+            }
+        }
+        return run.finish();
+    }
+    
+    // State of one import: the seller, the pending batch and the per-row outcome
+    private class ImportRun {
+        private final User seller;
+        private final BulkImportResult result = new BulkImportResult();
+        private final List<Integer> pendingRows = new ArrayList<>();
+        private final List<PropertyRequest> pending = new ArrayList<>();
+        // Rows of earlier batches are indexed once committed; this covers the batch being built
+        private final DuplicateListingIndex.PendingListings pendingListings = duplicateListingIndex.newPendingListings();
+        
+        ImportRun(User seller) {
+            this.seller = seller;
+        }
+        
+        void accept(int row, PropertyRequest request) {
+            Set<ConstraintViolation<PropertyRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                result.addFailed(row, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            String duplicate = propertyService.findImportDuplicate(seller, request, pendingListings, row);
+            if (duplicate != null) {
+                result.addFailed(row, duplicate);
+                return;
+            }
+            pendingRows.add(row);
+            pending.add(request);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+        
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                List<Long> propertyIds = propertyService.createPropertiesBatch(seller, pending);
+                for (int i = 0; i < propertyIds.size(); i++) {
+                    result.addCreated(pendingRows.get(i), propertyIds.get(i));
+                }
+            } catch (Exception e) {
+                // The whole batch was rolled back
+                for (Integer row : pendingRows) {
+                    result.addFailed(row, "Insert failed: " + rootMessage(e));
+                }
+            }
+            pendingRows.clear();
+            pending.clear();
+            pendingListings.clear();
+        }
+        
+        BulkImportResult finish() {
+            flush();
+            result.getRows().sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+            result.setTotalRows(result.getRows().size());
+            return result;
+        }
+    }
+    
+    /**
+     * Reads one RFC 4180 record: comma separated, fields optionally quoted with
+     * doubled quotes as the escape, quoted fields may span lines. Returns null
+     * at end of input.
+     */
+    static List<String> readCsvRecord(Reader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
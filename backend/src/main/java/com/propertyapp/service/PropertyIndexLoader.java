@@ -0,0 +1,113 @@
+package com.propertyapp.service;
+
+import com.propertyapp.model.Property;
+import com.propertyapp.repository.PropertyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Loads the in-memory indexes from the database and delivers committed
+ * listing changes to them. Loading runs as a lifecycle phase ahead of the
+ * embedded web server, so no request is served from an empty index. Changes
+ * published while the scan is running are held back and replayed once every
+ * index has been rebuilt; listeners apply them as upserts, so a change the
+ * scan already saw is harmless, and one it missed is not wiped by the rebuild.
+ */
+@Component
+public class PropertyIndexLoader implements SmartLifecycle {
+    
+    // The web server starts in a phase just below Integer.MAX_VALUE; anything lower finishes first
+    private static final int PHASE = 0;
+    
+    @Autowired
+    private PropertyRepository propertyRepository;
+    
+    @Autowired
+    private List<PropertyChangeListener> changeListeners;
+    
+    private final Object lock = new Object();
+    // Changes waiting for the initial load; null once it has finished
+    private List<Consumer<PropertyChangeListener>> heldBack = new ArrayList<>();
+    private volatile boolean running;
+    
+    @Override
+    public void start() {
+        rebuildIndexes();
+        running = true;
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+    
+    /**
+     * Delivers a committed change to every listener, or queues it while the
+     * initial load is still running.
+     */
+    public void publish(Consumer<PropertyChangeListener> change) {
+        synchronized (lock) {
+            if (heldBack != null) {
+                heldBack.add(change);
+                return;
+            }
+        }
+        deliver(change);
+    }
+    
+    private void rebuildIndexes() {
+        // One scan of the active catalogue feeds every in-memory index
+        List<Property> activeProperties = propertyRepository.findByIsActiveTrue();
+        for (PropertyChangeListener listener : changeListeners) {
+            try {
+                listener.rebuild(activeProperties);
+            } catch (Exception e) {
+                System.err.println("Failed to rebuild " + listener.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+        
+        int replayed = 0;
+        while (true) {
+            List<Consumer<PropertyChangeListener>> changes;
+            synchronized (lock) {
+                if (heldBack.isEmpty()) {
+                    heldBack = null;
+                    break;
+                }
+                changes = heldBack;
+                heldBack = new ArrayList<>();
+            }
+            for (Consumer<PropertyChangeListener> change : changes) {
+                deliver(change);
+            }
+            replayed += changes.size();
+        }
+        System.out.println("Property indexes rebuilt from " + activeProperties.size() + " active listings"
+                + (replayed > 0 ? ", replayed " + replayed + " changes made during the load" : ""));
+    }
+    
+    private void deliver(Consumer<PropertyChangeListener> change) {
+        for (PropertyChangeListener listener : changeListeners) {
+            try {
+                change.accept(listener);
+            } catch (Exception e) {
+                System.err.println("Property listener " + listener.getClass().getSimpleName() + " failed: " + e.getMessage());
+            }
+        }
+    }
+}
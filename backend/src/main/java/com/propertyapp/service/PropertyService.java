@@ -1,18 +1,59 @@
 package com.propertyapp.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.propertyapp.cache.PropertyDetailCache;
+import com.propertyapp.dto.AutocompleteSuggestion;
+import com.propertyapp.dto.CursorPage;
+import com.propertyapp.dto.FacetCounts;
+import com.propertyapp.dto.MapCluster;
+import com.propertyapp.dto.MarketStats;
+import com.propertyapp.dto.NearbyProperty;
+import com.propertyapp.dto.PropertyChange;
+import com.propertyapp.dto.PropertyDetail;
+import com.propertyapp.dto.PropertyLookup;
+import com.propertyapp.dto.PropertyPatchRequest;
 import com.propertyapp.dto.PropertyRequest;
+import com.propertyapp.dto.PropertySearchCriteria;
+import com.propertyapp.dto.PropertySummary;
+import com.propertyapp.dto.RankingQuery;
+import com.propertyapp.index.AutocompleteIndex;
+import com.propertyapp.index.DuplicateListingIndex;
+import com.propertyapp.index.GeoGridIndex;
+import com.propertyapp.index.ListingFacetIndex;
+import com.propertyapp.index.ListingRanker;
+import com.propertyapp.index.ListingSnapshotIndex;
+import com.propertyapp.index.MapClusterIndex;
+import com.propertyapp.index.MarketStatsIndex;
+import com.propertyapp.index.PropertyTextIndex;
+import com.propertyapp.index.SimilarListingsIndex;
 import com.propertyapp.model.Property;
 import com.propertyapp.model.PropertyType;
 import com.propertyapp.model.User;
 import com.propertyapp.repository.PropertyRepository;
 import com.propertyapp.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -24,7 +65,138 @@ public class PropertyService {
     @Autowired
     private UserRepository userRepository;
     
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PropertyIndexLoader propertyIndexLoader;
+    
+    @Autowired
+    private PropertyTextIndex propertyTextIndex;
+    
+    @Autowired
+    private GeoGridIndex geoGridIndex;
+    
+    @Autowired
+    private PropertyDetailCache propertyDetailCache;
+    
+    @Autowired
+    private ListingSnapshotIndex listingSnapshotIndex;
+    
+    @Autowired
+    private ListingFacetIndex listingFacetIndex;
+    
+    @Autowired
+    private ThumbnailService thumbnailService;
+    
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
+    
+    @Autowired
+    private SimilarListingsIndex similarListingsIndex;
+    
+    @Autowired
+    private MarketStatsIndex marketStatsIndex;
+    
+    @Autowired
+    private MapClusterIndex mapClusterIndex;
+    
+    @Autowired
+    private ListingRanker listingRanker;
+    
+    @Autowired
+    private DuplicateListingIndex duplicateListingIndex;
+    
+    @Value("${property.feed.default-page-size:50}")
+    private int defaultFeedPageSize;
+    
+    @Value("${property.feed.max-page-size:200}")
+    private int maxFeedPageSize;
+    
+    @Value("${property.changes.default-page-size:500}")
+    private int defaultChangesPageSize;
+    
+    @Value("${property.changes.max-page-size:2000}")
+    private int maxChangesPageSize;
+    
+    @Value("${property.changes.safety-lag-seconds:10}")
+    private long changesSafetyLagSeconds;
+    
+    @Value("${property.multi-get.max-ids:100}")
+    private int maxMultiGetIds;
+    
+    @Value("${property.polygon.max-vertices:200}")
+    private int maxPolygonVertices;
+    
+    @Value("${property.similar.max-results:20}")
+    private int maxSimilarResults;
+    
+    @Value("${property.dedupe.reject-same-seller:true}")
+    private boolean rejectDuplicateListings;
+    
     public Property createProperty(Long sellerId, PropertyRequest propertyRequest) {
+        User seller = findSeller(sellerId);
+        
+        Property property = newProperty(seller, propertyRequest);
+        Long duplicateOf = findOwnDuplicate(property);
+        if (duplicateOf != null) {
+            throw new IllegalArgumentException("This listing duplicates your existing property " + duplicateOf);
+        }
+        Property savedProperty = propertyRepository.save(property);
+        publishSaved(savedProperty, true);
+        return savedProperty;
+    }
+    
+    /**
+     * Duplicate check for one bulk import row: against the seller's active
+     * listings, and against the rows of the same import that are still waiting
+     * to be inserted. Returns the reason the row is refused, or null after
+     * recording it in {@code pending}.
+     */
+    @Transactional(readOnly = true)
+    public String findImportDuplicate(User seller, PropertyRequest propertyRequest,
+                                      DuplicateListingIndex.PendingListings pending, int row) {
+        if (!rejectDuplicateListings) {
+            return null;
+        }
+        Property property = newProperty(seller, propertyRequest);
+        Long duplicateOf = findOwnDuplicate(property);
+        if (duplicateOf != null) {
+            return "Duplicates your existing property " + duplicateOf;
+        }
+        Integer earlierRow = pending.addIfUnique(property, row);
+        return earlierRow == null ? null : "Duplicates row " + earlierRow + " of this import";
+    }
+    
+    /**
+     * Inserts one batch of already-validated listings for a seller in a single
+     * transaction. IDs come from the pooled Properties_Seq allocation, so
+     * Hibernate sends the inserts as JDBC batches.
+     */
+    public List<Long> createPropertiesBatch(User seller, List<PropertyRequest> propertyRequests) {
+        List<Property> properties = new ArrayList<>(propertyRequests.size());
+        for (PropertyRequest propertyRequest : propertyRequests) {
+            Property property = newProperty(seller, propertyRequest);
+            entityManager.persist(property);
+            properties.add(property);
+        }
+        entityManager.flush();
+        // Keep the persistence context from growing across a large import
+        entityManager.clear();
+        
+        List<Long> propertyIds = new ArrayList<>(properties.size());
+        for (Property property : properties) {
+            propertyIds.add(property.getPropertyId());
+        }
+        publishCreated(properties);
+        return propertyIds;
+    }
+    
+    @Transactional(readOnly = true)
+    public User findSeller(Long sellerId) {
         Optional<User> seller = userRepository.findById(sellerId);
         if (!seller.isPresent()) {
             throw new RuntimeException("Seller not found with ID: " + sellerId);
@@ -33,61 +205,348 @@ public class PropertyService {
         if (!seller.get().getUserType().equals(com.propertyapp.model.UserType.SELLER)) {
             throw new RuntimeException("Only sellers can create property listings");
         }
+        return seller.get();
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<PropertySummary> getActivePropertiesPage(String cursor, Integer pageSize) {
+        int size = pageSize == null ? defaultFeedPageSize : Math.max(1, Math.min(pageSize, maxFeedPageSize));
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        PageRequest limit = PageRequest.of(0, size + 1);
         
-        Property property = new Property();
-        property.setSeller(seller.get());
-        property.setPropertyType(propertyRequest.getPropertyType());
-        property.setTitle(propertyRequest.getTitle());
-        property.setDescription(propertyRequest.getDescription());
-        property.setPropertySize(propertyRequest.getPropertySize());
-        property.setPrice(propertyRequest.getPrice());
-        property.setAddress(propertyRequest.getAddress());
-        property.setCity(propertyRequest.getCity());
-        property.setState(propertyRequest.getState());
-        property.setPincode(propertyRequest.getPincode());
-        property.setLatitude(propertyRequest.getLatitude());
-        property.setLongitude(propertyRequest.getLongitude());
-        property.setPropertyImages(propertyRequest.getPropertyImages());
-        property.setPtrDocument(propertyRequest.getPtrDocument());
-        property.setIsActive(true);
+        List<PropertySummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = propertyRepository.findActiveFeedFirstPage(limit);
+        } else {
+            ListingCursor position = ListingCursor.decode(cursor);
+            rows = propertyRepository.findActiveFeedAfter(position.getTimestamp(), position.getPropertyId(), limit);
+        }
+        
+        boolean hasMore = rows.size() > size;
+        List<PropertySummary> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            PropertySummary last = page.get(page.size() - 1);
+            nextCursor = new ListingCursor(last.getCreatedAt(), last.getPropertyId()).encode();
+        }
+        return new CursorPage<>(withRenditions(page), nextCursor, hasMore);
+    }
+    
+    /**
+     * Listings created, updated or deactivated after the sync token, oldest
+     * change first. The returned cursor is the token for the next call; it is
+     * set even on the last page so clients can resume from it later.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PropertyChange> getChanges(String since, Integer pageSize) {
+        int size = pageSize == null ? defaultChangesPageSize : Math.max(1, Math.min(pageSize, maxChangesPageSize));
+        // updated_at is stamped at flush, before commit: rows newer than the lag may still be joined by
+        // slower transactions with earlier stamps, so they are only handed out once the lag has passed
+        LocalDateTime upTo = LocalDateTime.now().minusSeconds(changesSafetyLagSeconds);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        
+        List<PropertyChange> rows;
+        if (since == null || since.isBlank()) {
+            rows = propertyRepository.findChangesFirstPage(upTo, limit);
+        } else {
+            ListingCursor position = ListingCursor.decode(since);
+            rows = propertyRepository.findChangesAfter(position.getTimestamp(), position.getPropertyId(), upTo, limit);
+        }
         
-        return propertyRepository.save(property);
+        boolean hasMore = rows.size() > size;
+        List<PropertyChange> page = hasMore ? rows.subList(0, size) : rows;
+        String nextToken = since == null || since.isBlank() ? null : since;
+        if (!page.isEmpty()) {
+            PropertyChange last = page.get(page.size() - 1);
+            nextToken = new ListingCursor(last.getUpdatedAt(), last.getPropertyId()).encode();
+        }
+        for (PropertyChange change : page) {
+            if (change.getProperty() != null) {
+                withRenditions(change.getProperty());
+            }
+        }
+        return new CursorPage<>(page, nextToken, hasMore);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<PropertySummary> searchProperties(PropertySearchCriteria criteria) {
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("minPrice must not exceed maxPrice");
+        }
+        if (criteria.getMinSize() != null && criteria.getMaxSize() != null
+                && criteria.getMinSize().compareTo(criteria.getMaxSize()) > 0) {
+            throw new IllegalArgumentException("minSize must not exceed maxSize");
+        }
+        
+        int size = criteria.getSize() == null ? defaultFeedPageSize : Math.max(1, Math.min(criteria.getSize(), maxFeedPageSize));
+        int page = Math.max(0, criteria.getPage());
+        // The offset is an int in the query; reject pages that would overflow it
+        if (page > (Integer.MAX_VALUE - size - 1) / size) {
+            throw new IllegalArgumentException("page is too large");
+        }
+        
+        List<PropertySummary> rows = propertyRepository.searchActiveProperties(criteria, page * size, size + 1);
+        boolean hasMore = rows.size() > size;
+        return new CursorPage<>(withRenditions(hasMore ? rows.subList(0, size) : rows), null, hasMore);
+    }
+    
+    public FacetCounts getFacets(PropertySearchCriteria criteria) {
+        return listingFacetIndex.facets(criteria);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<MapCluster> getMapClusters(double south, double west, double north, double east, int zoom) {
+        if (south < -90 || north > 90 || south > north) {
+            throw new IllegalArgumentException("Latitudes must be within -90..90 with south <= north");
+        }
+        if (west < -180 || west > 180 || east < -180 || east > 180) {
+            throw new IllegalArgumentException("Longitudes must be within -180..180");
+        }
+        if (zoom < 0 || zoom > 22) {
+            throw new IllegalArgumentException("Zoom must be between 0 and 22");
+        }
+        return mapClusterIndex.clusters(south, west, north, east, zoom);
+    }
+    
+    @Transactional(readOnly = true)
+    public MarketStats getMarketStats(String city, PropertyType propertyType, BigDecimal size) {
+        if (city == null || city.isBlank()) {
+            throw new IllegalArgumentException("City is required");
+        }
+        if (size != null && size.signum() <= 0) {
+            throw new IllegalArgumentException("Size must be greater than 0");
+        }
+        return marketStatsIndex.stats(city, propertyType, size);
     }
     
-    public List<Property> getAllActiveProperties() {
-        return propertyRepository.findByIsActiveTrue();
+    @Transactional(readOnly = true)
+    public List<PropertySummary> searchPropertiesByText(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        List<Long> rankedIds = propertyTextIndex.search(query, Math.max(1, Math.min(limit, maxFeedPageSize)));
+        return withRenditions(findSummariesInOrder(rankedIds));
     }
     
-    public List<Property> getPropertiesBySeller(Long sellerId) {
+    /**
+     * "Best match" listings: candidates pass the type, city and radius filters
+     * and are ordered by the combined ranking signals (text relevance,
+     * distance, price fit, freshness, popularity).
+     */
+    @Transactional(readOnly = true)
+    public List<PropertySummary> rankProperties(RankingQuery query) {
+        if (query.getRadiusKm() != null && query.getRadiusKm().signum() <= 0) {
+            throw new IllegalArgumentException("Radius must be greater than 0");
+        }
+        if (query.getMinPrice() != null && query.getMaxPrice() != null
+                && query.getMinPrice().compareTo(query.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("Minimum price cannot exceed maximum price");
+        }
+        int limit = query.getLimit() == null ? 20 : query.getLimit();
+        long[] rankedIds = listingRanker.rank(query, Math.max(1, Math.min(limit, maxFeedPageSize)));
+        List<Long> ids = new ArrayList<>(rankedIds.length);
+        for (long rankedId : rankedIds) {
+            ids.add(rankedId);
+        }
+        return withRenditions(findSummariesInOrder(ids));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<AutocompleteSuggestion> autocomplete(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        return autocompleteIndex.suggest(query, limit);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<PropertySummary> getPropertiesBySeller(Long sellerId) {
         Optional<User> seller = userRepository.findById(sellerId);
         if (!seller.isPresent()) {
             throw new RuntimeException("Seller not found with ID: " + sellerId);
         }
-        return propertyRepository.findActivePropertiesBySeller(seller.get());
+        return withRenditions(propertyRepository.findActivePropertiesBySeller(seller.get()));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<PropertySummary> getPropertiesByType(PropertyType propertyType) {
+        return withRenditions(propertyRepository.findActivePropertiesByType(propertyType));
     }
     
-    public List<Property> getPropertiesByType(PropertyType propertyType) {
-        return propertyRepository.findActivePropertiesByType(propertyType);
+    @Transactional(readOnly = true)
+    public List<PropertySummary> getPropertiesByCity(String city) {
+        return withRenditions(propertyRepository.findActivePropertiesByCity(city));
     }
     
-    public List<Property> getPropertiesByCity(String city) {
-        return propertyRepository.findActivePropertiesByCity(city);
+    @Transactional(readOnly = true)
+    public List<PropertySummary> getPropertiesByPriceRange(BigDecimal minPrice, BigDecimal maxPrice,
+                                                           BigDecimal minSize, BigDecimal maxSize) {
+        // The range itself is resolved against the in-memory snapshot; only matching rows are loaded
+        long[] propertyIds = listingSnapshotIndex.findIdsInPriceRange(minPrice, maxPrice, minSize, maxSize,
+                null, null, null, Integer.MAX_VALUE);
+        List<Long> ids = new ArrayList<>(propertyIds.length);
+        for (long propertyId : propertyIds) {
+            ids.add(propertyId);
+        }
+        return withRenditions(findSummariesInOrder(ids));
     }
     
-    public List<Property> getPropertiesByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        return propertyRepository.findActivePropertiesByPriceRange(minPrice, maxPrice);
+    @Transactional(readOnly = true)
+    public List<PropertySummary> getPropertiesByTypeAndCity(PropertyType propertyType, String city) {
+        return withRenditions(propertyRepository.findActivePropertiesByTypeAndCity(propertyType, city));
     }
     
-    public List<Property> getPropertiesByTypeAndCity(PropertyType propertyType, String city) {
-        return propertyRepository.findActivePropertiesByTypeAndCity(propertyType, city);
+    /**
+     * Listings inside a drawn area, paged and ordered like /search. The area is
+     * matched in memory, so only the requested page is read from the database.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PropertySummary> searchPropertiesInPolygon(String polygon, PropertySearchCriteria.Sort sort,
+                                                                 int page, Integer pageSize) {
+        double[][] vertices = parsePolygon(polygon);
+        int size = pageSize == null ? defaultFeedPageSize : Math.max(1, Math.min(pageSize, maxFeedPageSize));
+        // long: a large page number must not wrap to a negative offset
+        long offset = (long) Math.max(0, page) * size;
+        
+        List<GeoGridIndex.GeoPoint> matches = geoGridIndex.findInPolygon(vertices[0], vertices[1]);
+        if (offset >= matches.size()) {
+            return new CursorPage<>(new ArrayList<>(), null, false);
+        }
+        matches.sort(polygonOrder(sort == null ? PropertySearchCriteria.Sort.NEWEST : sort));
+        
+        int from = (int) offset;
+        boolean hasMore = matches.size() - from > size;
+        List<Long> pageIds = new ArrayList<>(size);
+        for (int i = from; i < Math.min(from + size, matches.size()); i++) {
+            pageIds.add(matches.get(i).getPropertyId());
+        }
+        return new CursorPage<>(withRenditions(findSummariesInOrder(pageIds)), null, hasMore);
     }
     
-    public List<Object[]> getNearbyProperties(BigDecimal latitude, BigDecimal longitude, BigDecimal radiusKm) {
-        return propertyRepository.findNearbyProperties(latitude, longitude, radiusKm);
+    @Transactional(readOnly = true)
+    public List<NearbyProperty> getNearbyProperties(BigDecimal latitude, BigDecimal longitude, BigDecimal radiusKm, int limit) {
+        if (radiusKm.signum() <= 0) {
+            throw new IllegalArgumentException("radiusKm must be greater than 0");
+        }
+        
+        int wanted = Math.max(1, Math.min(limit, maxFeedPageSize));
+        List<NearbyProperty> nearby = new ArrayList<>(wanted);
+        // Listings of deactivated sellers are dropped after the index lookup, so fetch more until enough survive
+        Set<Long> seen = new HashSet<>();
+        for (int fetch = wanted; ; fetch *= 2) {
+            List<GeoGridIndex.GeoMatch> matches = geoGridIndex.findWithinRadius(latitude.doubleValue(),
+                    longitude.doubleValue(), radiusKm.doubleValue(), fetch);
+            // Each round re-reads a longer nearest-first list; only listings not handled before are resolved
+            List<GeoGridIndex.GeoMatch> fresh = new ArrayList<>();
+            for (GeoGridIndex.GeoMatch match : matches) {
+                if (seen.add(match.getPropertyId())) {
+                    fresh.add(match);
+                }
+            }
+            List<Long> propertyIds = new ArrayList<>(fresh.size());
+            for (GeoGridIndex.GeoMatch match : fresh) {
+                propertyIds.add(match.getPropertyId());
+            }
+            
+            Map<Long, PropertySummary> byId = new HashMap<>();
+            for (int from = 0; from < propertyIds.size(); from += 1000) {
+                List<Long> chunk = propertyIds.subList(from, Math.min(from + 1000, propertyIds.size()));
+                for (PropertySummary summary : propertyRepository.findActiveSummariesWithActiveSellerByIds(chunk)) {
+                    byId.put(summary.getPropertyId(), summary);
+                }
+            }
+            
+            for (GeoGridIndex.GeoMatch match : fresh) {
+                PropertySummary summary = byId.get(match.getPropertyId());
+                if (summary != null && nearby.size() < wanted) {
+                    withRenditions(summary);
+                    nearby.add(new NearbyProperty(summary, match.getDistanceKm()));
+                }
+            }
+            if (nearby.size() >= wanted || matches.size() < fetch) {
+                break;
+            }
+        }
+        return nearby;
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<PropertyDetail> getPropertyById(Long propertyId) {
+        return Optional.ofNullable(propertyDetailCache.getOrLoad(propertyId,
+                id -> propertyRepository.findByIdWithSeller(id).map(PropertyDetail::from).orElse(null)));
     }
     
-    public Optional<Property> getPropertyById(Long propertyId) {
-        return propertyRepository.findById(propertyId);
+    /**
+     * Listings most similar to the given one, closest first. Neighbours are
+     * found in memory and resolved through the multi-get path, so warm listings
+     * come straight from the detail cache. Empty when the listing is not active.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<PropertyDetail>> getSimilarProperties(Long propertyId, int limit) {
+        long[] similarIds = similarListingsIndex.findSimilar(propertyId, Math.max(1, Math.min(limit, maxSimilarResults)));
+        if (similarIds == null) {
+            return Optional.empty();
+        }
+        List<PropertyDetail> similar = new ArrayList<>(similarIds.length);
+        if (similarIds.length == 0) {
+            return Optional.of(similar);
+        }
+        List<Long> ids = new ArrayList<>(similarIds.length);
+        for (long similarId : similarIds) {
+            ids.add(similarId);
+        }
+        for (PropertyLookup lookup : getPropertiesByIds(ids)) {
+            if (lookup.isFound()) {
+                similar.add(lookup.getProperty());
+            }
+        }
+        return Optional.of(similar);
+    }
+    
+    /**
+     * Resolves several listings at once. Cached details are used as-is and the
+     * remaining IDs are loaded with a single IN query; results keep the request
+     * order, including duplicates, with a not-found entry for unknown IDs.
+     */
+    @Transactional(readOnly = true)
+    public List<PropertyLookup> getPropertiesByIds(List<Long> propertyIds) {
+        if (propertyIds == null || propertyIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one property ID is required");
+        }
+        if (propertyIds.size() > maxMultiGetIds) {
+            throw new IllegalArgumentException("At most " + maxMultiGetIds + " property IDs can be requested at once");
+        }
+        
+        Map<Long, PropertyDetail> byId = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        // Generations are captured before the query so rows read before a concurrent write are not cached
+        Map<Long, Long> generations = new HashMap<>();
+        for (Long propertyId : propertyIds) {
+            if (propertyId == null || byId.containsKey(propertyId)) {
+                continue;
+            }
+            PropertyDetail cached = propertyDetailCache.get(propertyId);
+            byId.put(propertyId, cached);
+            if (cached == null) {
+                misses.add(propertyId);
+                generations.put(propertyId, propertyDetailCache.generation(propertyId));
+            }
+        }
+        
+        if (!misses.isEmpty()) {
+            for (Property property : propertyRepository.findAllWithSellerByIds(misses)) {
+                PropertyDetail detail = PropertyDetail.from(property);
+                propertyDetailCache.putIfGeneration(detail, generations.get(detail.getPropertyId()));
+                byId.put(detail.getPropertyId(), detail);
+            }
+        }
+        
+        List<PropertyLookup> results = new ArrayList<>(propertyIds.size());
+        for (Long propertyId : propertyIds) {
+            results.add(new PropertyLookup(propertyId, propertyId == null ? null : byId.get(propertyId)));
+        }
+        return results;
     }
     
     public Property updateProperty(Long propertyId, Long sellerId, PropertyRequest propertyRequest) {
@@ -100,6 +559,10 @@ public class PropertyService {
         if (!property.getSeller().getUserId().equals(sellerId)) {
             throw new RuntimeException("Only the property owner can update this property");
         }
+        if (propertyRequest.getVersion() != null && !propertyRequest.getVersion().equals(property.getVersion())) {
+            throw new OptimisticLockingFailureException("Property " + propertyId + " has been modified (current version "
+                    + property.getVersion() + ", request version " + propertyRequest.getVersion() + ")");
+        }
         
         property.setPropertyType(propertyRequest.getPropertyType());
         property.setTitle(propertyRequest.getTitle());
@@ -115,7 +578,155 @@ public class PropertyService {
         property.setPropertyImages(propertyRequest.getPropertyImages());
         property.setPtrDocument(propertyRequest.getPtrDocument());
         
-        return propertyRepository.save(property);
+        Property savedProperty = propertyRepository.save(property);
+        // Evict now as well as after commit so the stale window is only the commit itself
+        propertyDetailCache.invalidate(propertyId);
+        publishSaved(savedProperty, false);
+        return savedProperty;
+    }
+    
+    /**
+     * Applies the non-null fields of the request to the listing. The request
+     * must carry the version the client last read; a stale version, or an edit
+     * that commits between this read and our write, raises
+     * {@link OptimisticLockingFailureException}. Only changed columns are
+     * written, and a request that changes nothing does not write at all.
+     */
+    public Property patchProperty(Long propertyId, Long sellerId, PropertyPatchRequest patch) {
+        Optional<Property> existingProperty = propertyRepository.findById(propertyId);
+        if (!existingProperty.isPresent()) {
+            throw new RuntimeException("Property not found with ID: " + propertyId);
+        }
+        
+        Property property = existingProperty.get();
+        if (!property.getSeller().getUserId().equals(sellerId)) {
+            throw new RuntimeException("Only the property owner can update this property");
+        }
+        if (!property.getVersion().equals(patch.getVersion())) {
+            throw new OptimisticLockingFailureException("Property " + propertyId + " has been modified (current version "
+                    + property.getVersion() + ", request version " + patch.getVersion() + ")");
+        }
+        for (String text : new String[] {patch.getTitle(), patch.getAddress(), patch.getCity(), patch.getState(), patch.getPincode()}) {
+            if (text != null && text.isBlank()) {
+                throw new IllegalArgumentException("Title, address, city, state and pincode cannot be blank");
+            }
+        }
+        
+        boolean changed = false;
+        if (patch.getPropertyType() != null && patch.getPropertyType() != property.getPropertyType()) {
+            property.setPropertyType(patch.getPropertyType());
+            changed = true;
+        }
+        if (patch.getTitle() != null && !patch.getTitle().equals(property.getTitle())) {
+            property.setTitle(patch.getTitle());
+            changed = true;
+        }
+        if (patch.getDescription() != null && !patch.getDescription().equals(property.getDescription())) {
+            property.setDescription(patch.getDescription());
+            changed = true;
+        }
+        if (isNewAmount(patch.getPropertySize(), property.getPropertySize())) {
+            property.setPropertySize(patch.getPropertySize());
+            changed = true;
+        }
+        if (isNewAmount(patch.getPrice(), property.getPrice())) {
+            property.setPrice(patch.getPrice());
+            changed = true;
+        }
+        if (patch.getAddress() != null && !patch.getAddress().equals(property.getAddress())) {
+            property.setAddress(patch.getAddress());
+            changed = true;
+        }
+        if (patch.getCity() != null && !patch.getCity().equals(property.getCity())) {
+            property.setCity(patch.getCity());
+            changed = true;
+        }
+        if (patch.getState() != null && !patch.getState().equals(property.getState())) {
+            property.setState(patch.getState());
+            changed = true;
+        }
+        if (patch.getPincode() != null && !patch.getPincode().equals(property.getPincode())) {
+            property.setPincode(patch.getPincode());
+            changed = true;
+        }
+        if (isNewAmount(patch.getLatitude(), property.getLatitude())) {
+            property.setLatitude(patch.getLatitude());
+            changed = true;
+        }
+        if (isNewAmount(patch.getLongitude(), property.getLongitude())) {
+            property.setLongitude(patch.getLongitude());
+            changed = true;
+        }
+        if (patch.getPropertyImages() != null && !patch.getPropertyImages().equals(property.getPropertyImages())) {
+            property.setPropertyImages(patch.getPropertyImages());
+            changed = true;
+        }
+        if (patch.getPtrDocument() != null && !patch.getPtrDocument().equals(property.getPtrDocument())) {
+            property.setPtrDocument(patch.getPtrDocument());
+            changed = true;
+        }
+        if (!changed) {
+            return property;
+        }
+        
+        // Managed entity: the dirty check issues UPDATE ... WHERE property_id = ? AND version = ? at flush
+        Property savedProperty = propertyRepository.save(property);
+        propertyDetailCache.invalidate(propertyId);
+        publishSaved(savedProperty, false);
+        return savedProperty;
+    }
+    
+    // Scale-insensitive, so "2500000" and "2500000.00" are not a change
+    private static boolean isNewAmount(BigDecimal requested, BigDecimal current) {
+        return requested != null && (current == null || requested.compareTo(current) != 0);
+    }
+    
+    /**
+     * Throws unless the listing exists and belongs to the seller; lets callers
+     * reject a request before doing expensive work such as storing uploads.
+     */
+    @Transactional(readOnly = true)
+    public void checkPropertyOwner(Long propertyId, Long sellerId) {
+        Optional<Property> property = propertyRepository.findById(propertyId);
+        if (!property.isPresent()) {
+            throw new RuntimeException("Property not found with ID: " + propertyId);
+        }
+        if (!property.get().getSeller().getUserId().equals(sellerId)) {
+            throw new RuntimeException("Only the property owner can add images to this property");
+        }
+    }
+    
+    /**
+     * Appends image URLs to a listing's property_images JSON array, skipping
+     * URLs it already has. Returns the full list after the update.
+     */
+    public List<String> addPropertyImages(Long propertyId, Long sellerId, List<String> imageUrls) {
+        Optional<Property> existingProperty = propertyRepository.findById(propertyId);
+        if (!existingProperty.isPresent()) {
+            throw new RuntimeException("Property not found with ID: " + propertyId);
+        }
+        
+        Property property = existingProperty.get();
+        if (!property.getSeller().getUserId().equals(sellerId)) {
+            throw new RuntimeException("Only the property owner can add images to this property");
+        }
+        
+        List<String> images = parseImages(property.getPropertyImages());
+        for (String imageUrl : imageUrls) {
+            if (!images.contains(imageUrl)) {
+                images.add(imageUrl);
+            }
+        }
+        try {
+            property.setPropertyImages(objectMapper.writeValueAsString(images));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        
+        Property savedProperty = propertyRepository.save(property);
+        propertyDetailCache.invalidate(propertyId);
+        publishSaved(savedProperty, false);
+        return images;
     }
     
     public void deleteProperty(Long propertyId, Long sellerId) {
@@ -129,6 +740,187 @@ public class PropertyService {
         }
         
         property.get().setIsActive(false);
-        propertyRepository.save(property.get());
+        Property savedProperty = propertyRepository.save(property.get());
+        propertyDetailCache.invalidate(propertyId);
+        publishRemoved(savedProperty);
+    }
+    
+    // Points list images at the generated renditions once they exist; until then the original is used
+    private List<PropertySummary> withRenditions(List<PropertySummary> summaries) {
+        for (PropertySummary summary : summaries) {
+            withRenditions(summary);
+        }
+        return summaries;
+    }
+    
+    private void withRenditions(PropertySummary summary) {
+        String original = summary.getThumbnailUrl();
+        if (original == null) {
+            return;
+        }
+        String thumbnail = thumbnailService.renditionUrl(original, ThumbnailService.Rendition.THUMB);
+        String medium = thumbnailService.renditionUrl(original, ThumbnailService.Rendition.MEDIUM);
+        summary.setThumbnailUrl(thumbnail != null ? thumbnail : original);
+        summary.setMediumImageUrl(medium != null ? medium : original);
+    }
+    
+    // property_images normally holds a JSON array; older rows may hold a bare or comma-separated list
+    private List<String> parseImages(String propertyImages) {
+        List<String> images = new ArrayList<>();
+        if (propertyImages == null || propertyImages.isBlank()) {
+            return images;
+        }
+        if (propertyImages.trim().startsWith("[")) {
+            try {
+                images.addAll(objectMapper.readValue(propertyImages, new TypeReference<List<String>>() {}));
+                return images;
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Property images are not a valid JSON array", e);
+            }
+        }
+        for (String image : propertyImages.split(",")) {
+            if (!image.isBlank()) {
+                images.add(image.trim());
+            }
+        }
+        return images;
+    }
+    
+    // Re-posts by the same seller are refused; cross-seller look-alikes show up in the admin duplicates report
+    private Long findOwnDuplicate(Property property) {
+        if (!rejectDuplicateListings) {
+            return null;
+        }
+        long sellerId = property.getSeller().getUserId();
+        for (DuplicateListingIndex.Match match : duplicateListingIndex.findDuplicates(property)) {
+            if (match.getSellerId() == sellerId) {
+                return match.getPropertyId();
+            }
+        }
+        return null;
+    }
+    
+    private static Property newProperty(User seller, PropertyRequest propertyRequest) {
+        Property property = new Property();
+        property.setSeller(seller);
+        property.setPropertyType(propertyRequest.getPropertyType());
+        property.setTitle(propertyRequest.getTitle());
+        property.setDescription(propertyRequest.getDescription());
+        property.setPropertySize(propertyRequest.getPropertySize());
+        property.setPrice(propertyRequest.getPrice());
+        property.setAddress(propertyRequest.getAddress());
+        property.setCity(propertyRequest.getCity());
+        property.setState(propertyRequest.getState());
+        property.setPincode(propertyRequest.getPincode());
+        property.setLatitude(propertyRequest.getLatitude());
+        property.setLongitude(propertyRequest.getLongitude());
+        property.setPropertyImages(propertyRequest.getPropertyImages());
+        property.setPtrDocument(propertyRequest.getPtrDocument());
+        property.setIsActive(true);
+        return property;
+    }
+    
+    // "lat,lon;lat,lon;..." into {latitudes, longitudes}; a repeated closing vertex is dropped
+    private double[][] parsePolygon(String polygon) {
+        if (polygon == null || polygon.isBlank()) {
+            throw new IllegalArgumentException("Polygon is required");
+        }
+        String[] points = polygon.split(";");
+        int count = points.length;
+        if (count > 1 && points[0].trim().equals(points[count - 1].trim())) {
+            count--;
+        }
+        if (count < 3 || count > maxPolygonVertices) {
+            throw new IllegalArgumentException("Polygon must have between 3 and " + maxPolygonVertices + " vertices");
+        }
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            String[] coordinates = points[i].split(",");
+            try {
+                if (coordinates.length != 2) {
+                    throw new NumberFormatException();
+                }
+                latitudes[i] = Double.parseDouble(coordinates[0].trim());
+                longitudes[i] = Double.parseDouble(coordinates[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid polygon vertex: " + points[i].trim());
+            }
+            if (!(Math.abs(latitudes[i]) <= 90 && Math.abs(longitudes[i]) <= 180)) {
+                throw new IllegalArgumentException("Polygon vertex out of range: " + points[i].trim());
+            }
+        }
+        return new double[][] {latitudes, longitudes};
+    }
+    
+    private static Comparator<GeoGridIndex.GeoPoint> polygonOrder(PropertySearchCriteria.Sort sort) {
+        Comparator<GeoGridIndex.GeoPoint> order;
+        switch (sort) {
+            case PRICE_ASC:
+                order = Comparator.comparingDouble(GeoGridIndex.GeoPoint::getPrice);
+                break;
+            case PRICE_DESC:
+                order = Comparator.comparingDouble(GeoGridIndex.GeoPoint::getPrice).reversed();
+                break;
+            case SIZE_ASC:
+                // Double.compare puts listings without a size (NaN) last
+                order = Comparator.comparingDouble(GeoGridIndex.GeoPoint::getSize);
+                break;
+            case SIZE_DESC:
+                order = Comparator.comparingDouble((GeoGridIndex.GeoPoint point) ->
+                        Double.isNaN(point.getSize()) ? Double.NEGATIVE_INFINITY : point.getSize()).reversed();
+                break;
+            default:
+                order = Comparator.comparingLong(GeoGridIndex.GeoPoint::getCreatedAt).reversed();
+                break;
+        }
+        // Tie-break on ID, newest first, so pages are stable
+        return order.thenComparing(Comparator.comparingLong(GeoGridIndex.GeoPoint::getPropertyId).reversed());
+    }
+    
+    // Loads listings for IDs produced by an in-memory index, keeping the index order
+    List<PropertySummary> findSummariesInOrder(List<Long> propertyIds) {
+        Map<Long, PropertySummary> byId = new HashMap<>();
+        // SQL Server caps a statement at 2100 parameters, so large ID lists are chunked
+        for (int from = 0; from < propertyIds.size(); from += 1000) {
+            List<Long> chunk = propertyIds.subList(from, Math.min(from + 1000, propertyIds.size()));
+            for (PropertySummary summary : propertyRepository.findActiveSummariesByIds(chunk)) {
+                byId.put(summary.getPropertyId(), summary);
+            }
+        }
+        
+        List<PropertySummary> ordered = new ArrayList<>(propertyIds.size());
+        for (Long propertyId : propertyIds) {
+            PropertySummary summary = byId.get(propertyId);
+            if (summary != null) {
+                ordered.add(summary);
+            }
+        }
+        return ordered;
+    }
+    
+    private void publishSaved(Property property, boolean created) {
+        afterCommit(() -> propertyIndexLoader.publish(listener -> listener.propertySaved(property, created)));
+    }
+    
+    private void publishCreated(List<Property> properties) {
+        afterCommit(() -> propertyIndexLoader.publish(listener -> listener.propertiesCreated(properties)));
+    }
+    
+    private void publishRemoved(Property property) {
+        afterCommit(() -> propertyIndexLoader.publish(listener -> listener.propertyRemoved(property)));
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 }
@@ -0,0 +1,266 @@
+package com.propertyapp.service;
+
+import com.propertyapp.cache.LruTtlCache;
+import com.propertyapp.dto.SavedSearchRequest;
+import com.propertyapp.index.SavedSearchIndex;
+import com.propertyapp.model.Property;
+import com.propertyapp.model.SavedSearch;
+import com.propertyapp.model.User;
+import com.propertyapp.model.UserType;
+import com.propertyapp.repository.SavedSearchRepository;
+import com.propertyapp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saved searches and their new-listing alerts. Every listing that is created or
+ * updated is percolated through {@link SavedSearchIndex} after commit; matches
+ * are queued and delivered in batches, one SMS per customer per delivery run.
+ * A match is alerted at most once per search and listing within the dedupe
+ * window, so editing a listing does not re-notify the same customers.
+ */
+@Service
+public class SavedSearchService implements PropertyChangeListener {
+    
+    private static final int MAX_TITLES_PER_MESSAGE = 3;
+    
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private SavedSearchIndex savedSearchIndex;
+    
+    @Autowired
+    private SMSService smsService;
+    
+    @Value("${property.saved-search.max-per-customer:20}")
+    private int maxSearchesPerCustomer;
+    
+    private final BlockingQueue<PendingAlert> pendingAlerts;
+    private final LruTtlCache<String, Boolean> alerted;
+    
+    private static final class PendingAlert {
+        private final long customerId;
+        private final long propertyId;
+        private final String title;
+        private final String city;
+        private final BigDecimal price;
+        
+        PendingAlert(long customerId, Property property) {
+            this.customerId = customerId;
+            this.propertyId = property.getPropertyId();
+            this.title = property.getTitle();
+            this.city = property.getCity();
+            this.price = property.getPrice();
+        }
+    }
+    
+    public SavedSearchService(@Value("${property.saved-search.max-pending-alerts:50000}") int maxPendingAlerts,
+                              @Value("${property.saved-search.dedupe-entries:200000}") int dedupeEntries,
+                              @Value("${property.saved-search.dedupe-hours:168}") long dedupeHours) {
+        this.pendingAlerts = new LinkedBlockingQueue<>(maxPendingAlerts);
+        this.alerted = new LruTtlCache<>(dedupeEntries, TimeUnit.HOURS.toMillis(dedupeHours));
+    }
+    
+    /**
+     * Loads the saved searches together with the listing indexes, which
+     * {@link PropertyIndexLoader} does before the web server accepts requests,
+     * so no search created or deleted over HTTP can race the load.
+     */
+    @Override
+    public void rebuild(List<Property> activeProperties) {
+        List<SavedSearch> activeSearches = savedSearchRepository.findByIsActiveTrue();
+        savedSearchIndex.rebuild(activeSearches);
+        System.out.println("Saved search index loaded with " + activeSearches.size() + " searches");
+    }
+    
+    public SavedSearch createSavedSearch(Long customerId, SavedSearchRequest request) {
+        Optional<User> customer = userRepository.findById(customerId);
+        if (!customer.isPresent()) {
+            throw new RuntimeException("Customer not found with ID: " + customerId);
+        }
+        if (customer.get().getUserType() != UserType.CUSTOMER) {
+            throw new RuntimeException("Only customers can save searches");
+        }
+        validate(request);
+        if (savedSearchRepository.countByCustomerIdAndIsActiveTrue(customerId) >= maxSearchesPerCustomer) {
+            throw new IllegalArgumentException("A customer can keep at most " + maxSearchesPerCustomer + " saved searches");
+        }
+        
+        SavedSearch search = new SavedSearch();
+        search.setCustomerId(customerId);
+        search.setName(request.getName());
+        search.setPropertyType(request.getPropertyType());
+        search.setCity(request.getCity() == null || request.getCity().isBlank() ? null : request.getCity().trim());
+        search.setMinPrice(request.getMinPrice());
+        search.setMaxPrice(request.getMaxPrice());
+        search.setMinSize(request.getMinSize());
+        search.setMaxSize(request.getMaxSize());
+        search.setLatitude(request.getLatitude());
+        search.setLongitude(request.getLongitude());
+        search.setRadiusKm(request.getRadiusKm());
+        search.setIsActive(true);
+        
+        SavedSearch savedSearch = savedSearchRepository.save(search);
+        savedSearchIndex.put(savedSearch);
+        return savedSearch;
+    }
+    
+    public List<SavedSearch> getSavedSearches(Long customerId) {
+        return savedSearchRepository.findByCustomerIdAndIsActiveTrueOrderByCreatedAtDesc(customerId);
+    }
+    
+    public void deleteSavedSearch(Long savedSearchId, Long customerId) {
+        Optional<SavedSearch> search = savedSearchRepository.findById(savedSearchId);
+        if (!search.isPresent() || !Boolean.TRUE.equals(search.get().getIsActive())) {
+            throw new RuntimeException("Saved search not found with ID: " + savedSearchId);
+        }
+        if (!search.get().getCustomerId().equals(customerId)) {
+            throw new RuntimeException("You can only delete your own saved searches");
+        }
+        search.get().setIsActive(false);
+        savedSearchRepository.save(search.get());
+        savedSearchIndex.remove(savedSearchId);
+    }
+    
+    @Override
+    public void propertySaved(Property property, boolean created) {
+        percolate(property);
+    }
+    
+    @Override
+    public void propertiesCreated(List<Property> properties) {
+        for (Property property : properties) {
+            percolate(property);
+        }
+    }
+    
+    @Override
+    public void propertyRemoved(Property property) {
+        // Nothing to alert; alerts already queued for it still go out with the next batch
+    }
+    
+    public int pendingAlertCount() {
+        return pendingAlerts.size();
+    }
+    
+    /**
+     * Sends the queued alerts, grouped so each customer gets a single message
+     * however many of their searches matched since the last run.
+     */
+    @Scheduled(fixedDelayString = "${property.saved-search.delivery-interval-ms:60000}")
+    public void deliverAlerts() {
+        List<PendingAlert> batch = new ArrayList<>();
+        pendingAlerts.drainTo(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        Map<Long, List<PendingAlert>> alertsByCustomer = new LinkedHashMap<>();
+        for (PendingAlert alert : batch) {
+            List<PendingAlert> alerts = alertsByCustomer.computeIfAbsent(alert.customerId, id -> new ArrayList<>());
+            // Several searches of one customer can match the same listing
+            if (alerts.stream().noneMatch(existing -> existing.propertyId == alert.propertyId)) {
+                alerts.add(alert);
+            }
+        }
+        
+        Map<Long, User> customers = new HashMap<>();
+        for (User user : userRepository.findAllById(alertsByCustomer.keySet())) {
+            customers.put(user.getUserId(), user);
+        }
+        
+        int sent = 0;
+        for (Map.Entry<Long, List<PendingAlert>> entry : alertsByCustomer.entrySet()) {
+            User customer = customers.get(entry.getKey());
+            if (customer == null || !Boolean.TRUE.equals(customer.getIsActive())) {
+                continue;
+            }
+            try {
+                smsService.sendNotification(customer.getMobileNumber(), alertMessage(entry.getValue()));
+                sent++;
+            } catch (Exception e) {
+                System.err.println("Failed to send saved search alert to customer " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+        System.out.println("Delivered saved search alerts for " + batch.size() + " matches to " + sent + " customers");
+    }
+    
+    private void percolate(Property property) {
+        int dropped = 0;
+        for (SavedSearchIndex.Match match : savedSearchIndex.match(property)) {
+            String key = match.getSavedSearchId() + ":" + property.getPropertyId();
+            if (alerted.get(key) != null) {
+                continue;
+            }
+            // Dedupe only what was actually queued, so a dropped alert can fire on the listing's next update
+            if (pendingAlerts.offer(new PendingAlert(match.getCustomerId(), property))) {
+                alerted.put(key, Boolean.TRUE);
+            } else {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            System.err.println("Saved search alert queue is full; dropped " + dropped + " alerts for listing " + property.getPropertyId());
+        }
+    }
+    
+    private static String alertMessage(List<PendingAlert> alerts) {
+        if (alerts.size() == 1) {
+            PendingAlert alert = alerts.get(0);
+            return "New listing matching your saved search: " + alert.title + ", " + alert.city
+                    + " - Rs " + alert.price.toPlainString() + " (Property ID " + alert.propertyId + ")";
+        }
+        StringBuilder message = new StringBuilder()
+                .append(alerts.size()).append(" new listings match your saved searches: ");
+        for (int i = 0; i < Math.min(alerts.size(), MAX_TITLES_PER_MESSAGE); i++) {
+            if (i > 0) {
+                message.append("; ");
+            }
+            message.append(alerts.get(i).title).append(", ").append(alerts.get(i).city);
+        }
+        if (alerts.size() > MAX_TITLES_PER_MESSAGE) {
+            message.append(" and ").append(alerts.size() - MAX_TITLES_PER_MESSAGE).append(" more");
+        }
+        return message.toString();
+    }
+    
+    private static void validate(SavedSearchRequest request) {
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice().compareTo(request.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("Minimum price cannot exceed maximum price");
+        }
+        if (request.getMinSize() != null && request.getMaxSize() != null
+                && request.getMinSize().compareTo(request.getMaxSize()) > 0) {
+            throw new IllegalArgumentException("Minimum size cannot exceed maximum size");
+        }
+        boolean hasCoordinates = request.getLatitude() != null || request.getLongitude() != null;
+        if (request.getRadiusKm() != null || hasCoordinates) {
+            if (request.getRadiusKm() == null || request.getLatitude() == null || request.getLongitude() == null) {
+                throw new IllegalArgumentException("Latitude, longitude and radius must be given together");
+            }
+        }
+        boolean hasCity = request.getCity() != null && !request.getCity().isBlank();
+        if (request.getPropertyType() == null && !hasCity && request.getMinPrice() == null
+                && request.getMaxPrice() == null && request.getMinSize() == null && request.getMaxSize() == null
+                && request.getRadiusKm() == null) {
+            throw new IllegalArgumentException("At least one search criterion is required");
+        }
+    }
+}
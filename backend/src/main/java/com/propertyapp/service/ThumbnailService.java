@@ -0,0 +1,294 @@
+package com.propertyapp.service;
+
+import com.propertyapp.index.ListingVersionTracker;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Produces downscaled JPEG renditions of stored listing images in the
+ * background. Work runs on a fixed-size pool with a bounded queue; when the
+ * queue is full, or a job fails, the job is re-offered later with exponential
+ * backoff instead of blocking the caller. Renditions are stored next to the
+ * original as {@code <hash>_<rendition>.jpg}.
+ */
+@Service
+public class ThumbnailService {
+    
+    public enum Rendition {
+        THUMB("thumb", 320),
+        MEDIUM("medium", 1024);
+        
+        private final String suffix;
+        private final int maxDimension;
+        
+        Rendition(String suffix, int maxDimension) {
+            this.suffix = suffix;
+            this.maxDimension = maxDimension;
+        }
+    }
+    
+    // Refuse to decode anything larger; a tiny compressed file can declare an enormous canvas
+    private static final long MAX_SOURCE_PIXELS = 50_000_000L;
+    private static final float JPEG_QUALITY = 0.82f;
+    
+    private static final Rendition[] LARGEST_FIRST = Arrays.stream(Rendition.values())
+            .sorted(Comparator.comparingInt((Rendition rendition) -> rendition.maxDimension).reversed())
+            .toArray(Rendition[]::new);
+    
+    @Autowired
+    private ImageStorageService imageStorageService;
+    
+    @Autowired
+    private ListingVersionTracker listingVersionTracker;
+    
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService retries;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    
+    // Images queued or being rendered, so the same image is never in the pipeline twice
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    // Renditions known to exist on disk, and originals that can never be rendered
+    private final Set<String> ready = ConcurrentHashMap.newKeySet();
+    private final Set<String> unrenderable = ConcurrentHashMap.newKeySet();
+    
+    public ThumbnailService(@Value("${property.thumbnails.workers:2}") int workerCount,
+                            @Value("${property.thumbnails.queue-capacity:500}") int queueCapacity,
+                            @Value("${property.thumbnails.max-attempts:5}") int maxAttempts,
+                            @Value("${property.thumbnails.retry-delay-ms:1000}") long retryDelayMillis) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    // Rendering is background work; keep it behind request threads
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+        this.retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "thumbnail-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+    
+    /**
+     * Queues renditions for a stored original. Returns immediately.
+     */
+    public void submit(String imageName) {
+        if (isRendered(imageName) || unrenderable.contains(imageName) || !pending.add(imageName)) {
+            return;
+        }
+        offer(imageName, 1);
+    }
+    
+    /**
+     * URL of the given rendition for an image URL, or null when the image is not
+     * one of ours or the rendition has not been produced yet. Missing renditions
+     * of stored images are queued, so images uploaded before the pipeline existed
+     * are backfilled on first use.
+     */
+    public String renditionUrl(String imageUrl, Rendition rendition) {
+        String imageName = imageStorageService.nameFromUrl(imageUrl);
+        if (imageName == null || imageName.indexOf('_') >= 0) {
+            return null;
+        }
+        String name = renditionName(imageName, rendition);
+        if (ready.contains(name)) {
+            return imageStorageService.publicUrl(name);
+        }
+        // Known outcomes need no disk check: unrenderable images never get renditions, pending ones not yet
+        if (unrenderable.contains(imageName) || pending.contains(imageName)) {
+            return null;
+        }
+        if (Files.exists(imageStorageService.resolve(name))) {
+            ready.add(name);
+            return imageStorageService.publicUrl(name);
+        }
+        submit(imageName);
+        return null;
+    }
+    
+    public int queuedJobs() {
+        return workers.getQueue().size();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        retries.shutdownNow();
+        workers.shutdownNow();
+    }
+    
+    private void offer(String imageName, int attempt) {
+        try {
+            workers.execute(() -> run(imageName, attempt));
+        } catch (RejectedExecutionException e) {
+            // Queue is full: back off rather than block the uploading request
+            retryLater(imageName, attempt);
+        }
+    }
+    
+    private void run(String imageName, int attempt) {
+        try {
+            // The original is decoded at most once; each missing rendition is scaled from the
+            // previous (larger) result rather than from the full-size source
+            BufferedImage image = null;
+            for (Rendition rendition : LARGEST_FIRST) {
+                String name = renditionName(imageName, rendition);
+                if (!Files.exists(imageStorageService.resolve(name))) {
+                    if (image == null) {
+                        image = read(imageStorageService.resolve(imageName));
+                    }
+                    image = scale(image, rendition.maxDimension);
+                    write(image, name);
+                }
+                ready.add(name);
+            }
+            pending.remove(imageName);
+            listingVersionTracker.collectionChanged();
+        } catch (UnsupportedImageException e) {
+            unrenderable.add(imageName);
+            pending.remove(imageName);
+            System.err.println("Cannot render " + imageName + ": " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Rendering " + imageName + " failed (attempt " + attempt + "): " + e.getMessage());
+            retryLater(imageName, attempt + 1);
+        }
+    }
+    
+    private void retryLater(String imageName, int attempt) {
+        if (attempt > maxAttempts || retries.isShutdown()) {
+            // Listing reads would otherwise keep re-queueing it
+            unrenderable.add(imageName);
+            pending.remove(imageName);
+            System.err.println("Giving up on renditions for " + imageName + " after " + maxAttempts + " attempts");
+            return;
+        }
+        long delay = retryDelayMillis << Math.min(attempt - 1, 10);
+        try {
+            retries.schedule(() -> offer(imageName, attempt), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            pending.remove(imageName);
+        }
+    }
+    
+    private void write(BufferedImage scaled, String targetName) throws IOException {
+        Path temp = imageStorageService.newTempFile();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(scaled, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        imageStorageService.publish(temp, targetName);
+    }
+    
+    private static BufferedImage read(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new UnsupportedImageException("no image reader for this format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_SOURCE_PIXELS) {
+                    throw new UnsupportedImageException("image dimensions too large");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+    
+    // Fits the image inside maxDimension x maxDimension; never upscales
+    static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double factor = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+        
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        // Halve in steps first; a single large bilinear step aliases badly
+        while (currentWidth / 2 >= width && currentHeight / 2 >= height) {
+            currentWidth /= 2;
+            currentHeight /= 2;
+            current = draw(current, currentWidth, currentHeight);
+        }
+        return draw(current, width, height);
+    }
+    
+    // Draws onto an opaque RGB canvas; JPEG has no alpha, so transparency becomes white
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+    
+    private boolean isRendered(String imageName) {
+        for (Rendition rendition : Rendition.values()) {
+            if (!ready.contains(renditionName(imageName, rendition))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static String renditionName(String imageName, Rendition rendition) {
+        return imageName.substring(0, imageName.indexOf('.')) + "_" + rendition.suffix + ".jpg";
+    }
+    
+    private static class UnsupportedImageException extends IOException {
+        private static final long serialVersionUID = 1L;
+        
+        UnsupportedImageException(String message) {
+            super(message);
+        }
+    }
+}
@@ -34,8 +34,11 @@ CREATE TABLE OTPVerification (
 );
 
 -- Property listings table
+-- Property IDs are allocated by the application in blocks of 50 (pooled optimizer)
+CREATE SEQUENCE Properties_Seq AS BIGINT START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE Properties (
-    property_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    property_id BIGINT PRIMARY KEY,
     seller_id BIGINT NOT NULL,
     property_type NVARCHAR(20) NOT NULL CHECK (property_type IN ('LAND', 'FLAT', 'ROW_HOUSE', 'BUNGALOW')),
     title NVARCHAR(200) NOT NULL,
@@ -53,9 +56,46 @@ CREATE TABLE Properties (
     is_active BIT DEFAULT 1,
     created_at DATETIME2 DEFAULT GETDATE(),
     updated_at DATETIME2 DEFAULT GETDATE(),
+    version BIGINT NOT NULL DEFAULT 0, -- optimistic lock, incremented on every update
     FOREIGN KEY (seller_id) REFERENCES Users(user_id)
 );
 
+-- Existing databases (startup runs with ddl-auto: validate, so apply before deploying):
+-- ALTER TABLE Properties ADD version BIGINT NOT NULL CONSTRAINT DF_Properties_Version DEFAULT 0;
+--
+-- Databases created when property_id was IDENTITY need the sequence and a rebuilt table,
+-- since SQL Server cannot drop IDENTITY from a column. Run in one maintenance window:
+--
+-- 1. Create the sequence past the existing IDs. Hibernate's pooled optimizer hands out
+--    (value - 49 .. value) for each value it draws, so the first value must be at least
+--    MAX(property_id) + 50; round it to the increment of 50.
+-- DECLARE @start BIGINT = ((SELECT ISNULL(MAX(property_id), 0) FROM Properties) / 50 + 2) * 50;
+-- DECLARE @sql NVARCHAR(200) = N'CREATE SEQUENCE Properties_Seq AS BIGINT START WITH '
+--     + CAST(@start AS NVARCHAR(20)) + N' INCREMENT BY 50;';
+-- EXEC sp_executesql @sql;
+-- GO
+--
+-- 2. Copy the rows into a table without IDENTITY and swap it in, keeping the Inquiries FK.
+-- BEGIN TRANSACTION;
+-- (run the CREATE TABLE Properties statement above with the name Properties_New)
+-- INSERT INTO Properties_New (property_id, seller_id, property_type, title, description, property_size,
+--     price, address, city, state, pincode, latitude, longitude, property_images, ptr_document,
+--     is_active, created_at, updated_at, version)
+-- SELECT property_id, seller_id, property_type, title, description, property_size,
+--     price, address, city, state, pincode, latitude, longitude, property_images, ptr_document,
+--     is_active, created_at, updated_at, version
+-- FROM Properties WITH (TABLOCKX);
+-- DECLARE @fk NVARCHAR(MAX) = N'';
+-- SELECT @fk += N'ALTER TABLE Inquiries DROP CONSTRAINT ' + QUOTENAME(name) + N';'
+-- FROM sys.foreign_keys WHERE referenced_object_id = OBJECT_ID('Properties');
+-- EXEC sp_executesql @fk;
+-- DROP TABLE Properties;
+-- EXEC sp_rename 'Properties_New', 'Properties';
+-- ALTER TABLE Inquiries ADD CONSTRAINT FK_Inquiries_Properties
+--     FOREIGN KEY (property_id) REFERENCES Properties(property_id);
+-- (re-create the IX_Properties_* indexes listed under "Create indexes for better performance")
+-- COMMIT;
+
 -- Customer inquiries table
 CREATE TABLE Inquiries (
     inquiry_id BIGINT IDENTITY(1,1) PRIMARY KEY,
@@ -76,6 +116,26 @@ CREATE TABLE Inquiries (
     FOREIGN KEY (seller_id) REFERENCES Users(user_id)
 );
 
+-- Saved searches; new listings are matched against the active ones for SMS alerts
+CREATE TABLE SavedSearches (
+    saved_search_id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    customer_id BIGINT NOT NULL,
+    name NVARCHAR(100),
+    property_type NVARCHAR(20) CHECK (property_type IN ('LAND', 'FLAT', 'ROW_HOUSE', 'BUNGALOW')),
+    city NVARCHAR(100),
+    min_price DECIMAL(15,2),
+    max_price DECIMAL(15,2),
+    min_size DECIMAL(10,2),
+    max_size DECIMAL(10,2),
+    latitude DECIMAL(10,8),
+    longitude DECIMAL(11,8),
+    radius_km DECIMAL(6,2),
+    is_active BIT DEFAULT 1,
+    created_at DATETIME2 DEFAULT GETDATE(),
+    updated_at DATETIME2 DEFAULT GETDATE(),
+    FOREIGN KEY (customer_id) REFERENCES Users(user_id)
+);
+
 -- Admin login logs table
 CREATE TABLE LoginLogs (
     log_id BIGINT IDENTITY(1,1) PRIMARY KEY,
@@ -103,10 +163,17 @@ CREATE INDEX IX_Properties_SellerId ON Properties(seller_id);
 CREATE INDEX IX_Properties_PropertyType ON Properties(property_type);
 CREATE INDEX IX_Properties_City ON Properties(city);
 CREATE INDEX IX_Properties_IsActive ON Properties(is_active);
+CREATE INDEX IX_Properties_Feed ON Properties(is_active, created_at DESC, property_id DESC);
+CREATE INDEX IX_Properties_Search_TypeCity ON Properties(is_active, property_type, city, price);
+CREATE INDEX IX_Properties_Search_CityPrice ON Properties(is_active, city, price);
+CREATE INDEX IX_Properties_Search_StatePrice ON Properties(is_active, state, price);
+CREATE INDEX IX_Properties_Search_Price ON Properties(is_active, price);
+CREATE INDEX IX_Properties_UpdatedAt ON Properties(updated_at, property_id);
 CREATE INDEX IX_Inquiries_PropertyId ON Inquiries(property_id);
 CREATE INDEX IX_Inquiries_CustomerId ON Inquiries(customer_id);
 CREATE INDEX IX_Inquiries_SellerId ON Inquiries(seller_id);
 CREATE INDEX IX_Inquiries_Status ON Inquiries(inquiry_status);
+CREATE INDEX IX_SavedSearches_Customer ON SavedSearches(customer_id, is_active);
 CREATE INDEX IX_LoginLogs_UserId ON LoginLogs(user_id);
 CREATE INDEX IX_LoginLogs_LoginTime ON LoginLogs(login_time);
 